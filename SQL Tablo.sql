@@ -62,6 +62,8 @@ CREATE TABLE cart_item (
 );
 
 -- 7. ORDER TABLOSU
+-- idempotency_key: istemcinin Idempotency-Key başlığı; aynı kullanıcının aynı anahtarla tekrarlanan
+-- isteği ikinci bir sipariş açmaz. Anahtarsız siparişlerde kolon NULL'dır (tekillik kısıtına girmez).
 CREATE TABLE `order` (
     order_id BIGINT AUTO_INCREMENT PRIMARY KEY,
     user_id BIGINT NOT NULL,
@@ -70,7 +72,9 @@ CREATE TABLE `order` (
     shipping_address TEXT NOT NULL,
     order_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    FOREIGN KEY (user_id) REFERENCES user(user_id)
+    idempotency_key VARCHAR(64) NULL,
+    FOREIGN KEY (user_id) REFERENCES user(user_id),
+    UNIQUE KEY unique_order_idempotency_key (user_id, idempotency_key)
 );
 
 -- 8. ORDER_ITEM TABLOSU
@@ -85,6 +89,54 @@ CREATE TABLE order_item (
     FOREIGN KEY (product_id) REFERENCES product(product_id)
 );
 
+-- 8a. INVENTORY_JOURNAL TABLOSU (flash-sale stoğunun geri yazılmamış düşümleri)
+CREATE TABLE inventory_journal (
+    journal_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    quantity INT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_inventory_journal_product (product_id)
+);
+
+-- 8b. SELLER_ORDER TABLOSU (satıcı paneli için sipariş indeksi)
+-- Siparişte ürünü olan her satıcı için bir satır; seller_subtotal o satıcının kalemlerinin toplamı.
+-- Siparişle aynı transaction'da uygulama tarafından yazılır; durum order tablosundan okunur.
+CREATE TABLE seller_order (
+    seller_order_id BIGINT PRIMARY KEY,
+    seller_id BIGINT NOT NULL,
+    order_id BIGINT NOT NULL,
+    order_date TIMESTAMP NOT NULL,
+    seller_subtotal DECIMAL(10,2) NOT NULL,
+    UNIQUE KEY unique_seller_order (seller_id, order_id),
+    INDEX idx_seller_order_range (seller_id, order_date, order_id),
+    FOREIGN KEY (order_id) REFERENCES `order`(order_id) ON DELETE CASCADE
+);
+
+-- Mevcut siparişler için indeksi doldur (id'ler id_generator başlatılmadan önce verilir)
+INSERT INTO seller_order (seller_order_id, seller_id, order_id, order_date, seller_subtotal)
+SELECT ROW_NUMBER() OVER (ORDER BY o.order_id, p.seller_id), p.seller_id, o.order_id, o.order_date, SUM(oi.subtotal)
+FROM `order` o
+JOIN order_item oi ON oi.order_id = o.order_id
+JOIN product p ON p.product_id = oi.product_id
+GROUP BY o.order_id, p.seller_id, o.order_date;
+
+-- 8c. OUTBOX_EVENT TABLOSU (transactional outbox)
+-- Yan etki gerektiren olaylar asıl yazmayla aynı transaction'da eklenir; OutboxRelay worker'ları
+-- bekleyen satırları FOR UPDATE SKIP LOCKED ile alır. available_at bir sonraki deneme zamanı,
+-- alınmış satırlarda kira bitişidir; processed_at dolu satırlar saklama süresi sonunda silinir.
+CREATE TABLE outbox_event (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(64) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    payload TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    available_at DATETIME(6) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    processed_at DATETIME(6) NULL,
+    INDEX idx_outbox_pending (processed_at, available_at)
+);
+
 -- 9. TEST KATEGORİLERİ
 INSERT INTO category (name, description) VALUES
 ('Bilgisayar', 'Dizüstü ve masaüstü bilgisayarlar'),
@@ -105,4 +157,25 @@ INSERT INTO product (seller_id, category_id, name, description, price, stock, im
 (1, 2, 'iPhone 15 Pro', '128GB Depolama, ProRAW Kamera', 45000.00, 20, ''),
 (1, 1, 'MacBook Air M3', '13 inç, 8GB RAM, 256GB SSD', 35000.00, 15, ''),
 (3, 3, 'iPad Pro', '11 inç, M2 Chip, 128GB', 25000.00, 10, ''),
-(3, 4, 'AirPods Pro', 'Aktif Gürültü Engelleme', 8000.00, 50, '');
\ No newline at end of file
+(3, 4, 'AirPods Pro', 'Aktif Gürültü Engelleme', 8000.00, 50, '');
+
+-- 12. ID_GENERATOR TABLOSU
+-- Entity id'leri Hibernate'in pooled table generator'ı ile 50'lik bloklar halinde dağıtılır
+-- (allocationSize entity'lerdeki değerle aynı olmalı). AUTO_INCREMENT kolonları olduğu gibi
+-- kalabilir; uygulama id'yi kendisi verir. Mevcut bir veritabanında da çalıştırılabilir:
+-- her sayaç tablodaki en büyük id'nin üzerinde bir blok boşluk bırakacak şekilde başlatılır.
+CREATE TABLE IF NOT EXISTS id_generator (
+    sequence_name VARCHAR(64) PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'user', COALESCE(MAX(user_id), 0) + 51 FROM user
+UNION ALL SELECT 'category', COALESCE(MAX(category_id), 0) + 51 FROM category
+UNION ALL SELECT 'product', COALESCE(MAX(product_id), 0) + 51 FROM product
+UNION ALL SELECT 'cart', COALESCE(MAX(cart_id), 0) + 51 FROM cart
+UNION ALL SELECT 'cart_item', COALESCE(MAX(cart_item_id), 0) + 51 FROM cart_item
+UNION ALL SELECT 'order', COALESCE(MAX(order_id), 0) + 51 FROM `order`
+UNION ALL SELECT 'order_item', COALESCE(MAX(order_item_id), 0) + 51 FROM order_item
+UNION ALL SELECT 'seller_order', COALESCE(MAX(seller_order_id), 0) + 51 FROM seller_order
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_generator.next_val, VALUES(next_val));
@@ -514,6 +514,29 @@ export default function TechMarketApp() {
 
     useEffect(() => {
       loadAllOrders();
+      // Yeni siparişler ve durum değişiklikleri sunucudan akar; liste yeniden çekilmez
+      const source = new EventSource(`${API_BASE}/orders/seller/${currentUser.userId}/events`);
+      let reconnecting = false;
+      source.addEventListener('order-created', (e) => {
+        const order = JSON.parse(e.data);
+        setAllOrders(prev => [order, ...prev.filter(o => o.orderId !== order.orderId)]);
+      });
+      source.addEventListener('order-status', (e) => {
+        const change = JSON.parse(e.data);
+        setAllOrders(prev => prev.map(o =>
+          o.orderId === change.orderId ? { ...o, status: change.status, updatedAt: change.updatedAt } : o
+        ));
+      });
+      // Sunucu tamponu taştıysa ya da bağlantı koptuysa kaçan olaylar için listeyi bir kez yenile
+      source.addEventListener('resync', () => loadAllOrders());
+      source.onerror = () => { reconnecting = true; };
+      source.onopen = () => {
+        if (reconnecting) {
+          reconnecting = false;
+          loadAllOrders();
+        }
+      };
+      return () => source.close();
     }, []);
 
     const loadAllOrders = async () => {
@@ -535,7 +558,7 @@ export default function TechMarketApp() {
           body: JSON.stringify({ status: newStatus })
         });
         if (res.ok) {
-          loadAllOrders();
+          setAllOrders(prev => prev.map(o => o.orderId === orderId ? { ...o, status: newStatus } : o));
         }
       } catch (err) {
         console.error('Sipariş durumu güncellenemedi:', err);
@@ -0,0 +1,98 @@
+package com.techmarket.benchmarks;
+
+import com.techmarket.model.Category;
+import com.techmarket.model.Order;
+import com.techmarket.model.OrderItem;
+import com.techmarket.model.OrderStatus;
+import com.techmarket.model.Product;
+import com.techmarket.model.User;
+import com.techmarket.service.OrderPlacementService;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** Ölçümler için sabit tohumlu, tekrarlanabilir sentetik katalog. */
+public final class CatalogFixtures {
+    static final String[] BRANDS = {"Apple", "Samsung", "Xiaomi", "Lenovo", "Asus", "Sony", "Logitech", "Huawei"};
+    static final String[] MODELS = {"Pro", "Air", "Max", "Ultra", "Lite", "Plus", "Mini", "Note", "Edge", "Go"};
+    static final String[] KINDS = {"Telefon", "Laptop", "Tablet", "Kulaklık", "Mouse", "Klavye", "Monitör", "Saat"};
+    static final String[] CATEGORIES = {"Bilgisayar", "Telefon", "Tablet", "Aksesuar", "Oyun Konsolu", "Kulaklık"};
+    
+    private CatalogFixtures() {}
+    
+    public static List<User> sellers(int count) {
+        List<User> sellers = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            User seller = new User();
+            seller.setUserId((long) i);
+            seller.setEmail("satici" + i + "@techmarket.com");
+            seller.setPassword("test123");
+            seller.setFirstName("Satıcı");
+            seller.setLastName("No" + i);
+            seller.setPhone("0555" + (1000000 + i));
+            seller.setAddress("Ankara Merkez");
+            sellers.add(seller);
+        }
+        return sellers;
+    }
+    
+    public static List<Category> categories() {
+        List<Category> categories = new ArrayList<>(CATEGORIES.length);
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            Category category = new Category();
+            category.setCategoryId((long) i + 1);
+            category.setName(CATEGORIES[i]);
+            category.setDescription(CATEGORIES[i] + " ürünleri");
+            categories.add(category);
+        }
+        return categories;
+    }
+    
+    public static List<Product> products(int count, List<User> sellers, List<Category> categories) {
+        Random random = new Random(42);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Product product = new Product();
+            product.setProductId((long) i);
+            product.setSeller(sellers.get(random.nextInt(sellers.size())));
+            product.setCategory(categories.get(random.nextInt(categories.size())));
+            product.setName(productName(random, i));
+            product.setDescription(product.getName() + ", " + (64 << random.nextInt(4)) + "GB, garantili");
+            product.setPrice(BigDecimal.valueOf(50_00 + random.nextInt(5_000_000), 2));
+            product.setStock(random.nextInt(500));
+            product.setImageUrl("");
+            products.add(product);
+        }
+        return products;
+    }
+    
+    public static String productName(Random random, int serial) {
+        return BRANDS[random.nextInt(BRANDS.length)] + " " + KINDS[random.nextInt(KINDS.length)] + " "
+                + MODELS[random.nextInt(MODELS.length)] + " " + (serial % 20 + 1);
+    }
+    
+    /** Satırları createOrder ile aynı şekilde hesaplanmış bir sipariş grafiği. */
+    public static Order order(long orderId, User buyer, List<Product> products, int lines) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setUser(buyer);
+        order.setShippingAddress("İstanbul Merkez");
+        order.setStatus(OrderStatus.BEKLEMEDE);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            Product product = products.get(i % products.size());
+            OrderItem item = new OrderItem();
+            item.setOrderItemId(orderId * 100 + i);
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(1 + i % 3);
+            item.setPriceAtPurchase(product.getPrice());
+            item.setSubtotal(OrderPlacementService.lineSubtotal(product.getPrice(), item.getQuantity()));
+            order.getItems().add(item);
+            total = total.add(item.getSubtotal());
+        }
+        order.setTotalAmount(total);
+        return order;
+    }
+}
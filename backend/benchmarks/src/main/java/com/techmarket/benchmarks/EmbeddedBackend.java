@@ -0,0 +1,23 @@
+package com.techmarket.benchmarks;
+
+import com.techmarket.TechmarketApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Uygulama bağlamını MySQL yerine H2 (MySQL modu) ile, web sunucusu olmadan başlatır.
+ * H2 ayarları backend'in "embedded" profilindedir (application-embedded.properties);
+ * şema Hibernate tarafından oluşturulur, her çağrı ayrı, boş bir veritabanı açar.
+ */
+public final class EmbeddedBackend {
+    
+    private EmbeddedBackend() {}
+    
+    public static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(TechmarketApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("embedded")
+                .run();
+    }
+}
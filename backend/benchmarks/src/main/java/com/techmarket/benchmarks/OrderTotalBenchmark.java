@@ -0,0 +1,46 @@
+package com.techmarket.benchmarks;
+
+import com.techmarket.service.OrderPlacementService;
+import org.openjdk.jmh.annotations.*;
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** createOrder'daki satır ara toplamı ve sipariş toplamı hesabı (BigDecimal). */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class OrderTotalBenchmark {
+    @Param({"1", "10", "100"})
+    int lines;
+    
+    private BigDecimal[] prices;
+    private int[] quantities;
+    
+    @Setup
+    public void setup() {
+        Random random = new Random(7);
+        prices = new BigDecimal[lines];
+        quantities = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            prices[i] = BigDecimal.valueOf(50_00 + random.nextInt(5_000_000), 2);
+            quantities[i] = 1 + random.nextInt(5);
+        }
+    }
+    
+    @Benchmark
+    public BigDecimal orderTotal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            total = total.add(OrderPlacementService.lineSubtotal(prices[i], quantities[i]));
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public int minimumAmountCheck() {
+        return orderTotal().compareTo(new BigDecimal("50"));
+    }
+}
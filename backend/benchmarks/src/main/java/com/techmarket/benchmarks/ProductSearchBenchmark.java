@@ -0,0 +1,84 @@
+package com.techmarket.benchmarks;
+
+import com.techmarket.model.Category;
+import com.techmarket.model.Product;
+import com.techmarket.model.User;
+import com.techmarket.repository.CategoryRepository;
+import com.techmarket.repository.ProductRepository;
+import com.techmarket.repository.UserRepository;
+import com.techmarket.search.ProductSearchIndex;
+import com.techmarket.search.ProductSuggestIndex;
+import com.techmarket.search.Suggestion;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ürün arama: bellek içi ters indeks ve önek tamamlama ile eski LIKE sorgusu,
+ * uygulama bağlamı H2 üzerinde gerçek bean'lerle çalışır.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class ProductSearchBenchmark {
+    static final String[] QUERIES = {"samsung", "apple pro", "kulaklık", "lenovo laptop max", "mon", "xiaomi note 1"};
+    
+    @Param({"10000"})
+    int products;
+    
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private ProductSearchIndex searchIndex;
+    private ProductSuggestIndex suggestIndex;
+    private int next;
+    
+    @Setup
+    public void setup() {
+        context = EmbeddedBackend.start();
+        productRepository = context.getBean(ProductRepository.class);
+        searchIndex = context.getBean(ProductSearchIndex.class);
+        suggestIndex = context.getBean(ProductSuggestIndex.class);
+        
+        // id'ler Hibernate'e bırakılır; fixture id'leri temizlenir
+        List<User> sellers = CatalogFixtures.sellers(50);
+        sellers.forEach(s -> s.setUserId(null));
+        sellers = context.getBean(UserRepository.class).saveAll(sellers);
+        List<Category> categories = CatalogFixtures.categories();
+        categories.forEach(c -> c.setCategoryId(null));
+        categories = context.getBean(CategoryRepository.class).saveAll(categories);
+        List<Product> catalog = CatalogFixtures.products(products, sellers, categories);
+        catalog.forEach(p -> p.setProductId(null));
+        productRepository.saveAll(catalog);
+        
+        searchIndex.rebuild();
+        suggestIndex.rebuild();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    private String nextQuery() {
+        next = (next + 1) % QUERIES.length;
+        return QUERIES[next];
+    }
+    
+    @Benchmark
+    public List<Long> invertedIndex() {
+        return searchIndex.search(nextQuery(), 50);
+    }
+    
+    @Benchmark
+    public List<Product> likeQuery() {
+        return productRepository.searchProducts(nextQuery());
+    }
+    
+    @Benchmark
+    public List<Suggestion> suggest() {
+        return suggestIndex.suggest(nextQuery(), 10);
+    }
+}
@@ -0,0 +1,79 @@
+package com.techmarket.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.techmarket.dto.OrderLineView;
+import com.techmarket.dto.OrderView;
+import com.techmarket.dto.ProductListing;
+import com.techmarket.model.Category;
+import com.techmarket.model.Order;
+import com.techmarket.model.OrderItem;
+import com.techmarket.model.Product;
+import com.techmarket.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Liste cevaplarının Jackson maliyeti: tam Product grafiği ile kompakt liste,
+ * Order entity grafiği ile OrderView projection'ı.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    @Param({"50", "1000"})
+    int products;
+    
+    @Param({"10"})
+    int orderLines;
+    
+    private ObjectMapper mapper;
+    private List<Product> catalog;
+    private Order order;
+    private OrderView orderView;
+    
+    @Setup
+    public void setup() {
+        // Spring Boot'un varsayılanlarıyla aynı ObjectMapper
+        mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        List<User> sellers = CatalogFixtures.sellers(20);
+        List<Category> categories = CatalogFixtures.categories();
+        catalog = CatalogFixtures.products(products, sellers, categories);
+        order = CatalogFixtures.order(1L, sellers.get(0), catalog, orderLines);
+        orderView = new OrderView(order.getOrderId(), order.getUser().getUserId(), order.getUser().getFirstName(),
+                order.getUser().getLastName(), order.getTotalAmount(), order.getStatus(), order.getShippingAddress(),
+                order.getOrderDate(), order.getUpdatedAt());
+        for (OrderItem item : order.getItems()) {
+            Product p = item.getProduct();
+            orderView.getItems().add(new OrderLineView(item.getOrderItemId(), order.getOrderId(), p.getProductId(),
+                    p.getName(), p.getImageUrl(), p.getSeller().getUserId(), item.getQuantity(),
+                    item.getPriceAtPurchase(), item.getSubtotal()));
+        }
+    }
+    
+    @Benchmark
+    public byte[] productListFull() throws Exception {
+        return mapper.writeValueAsBytes(catalog);
+    }
+    
+    @Benchmark
+    public byte[] productListCompact() throws Exception {
+        return mapper.writeValueAsBytes(ProductListing.of(catalog, null));
+    }
+    
+    @Benchmark
+    public byte[] orderEntity() throws Exception {
+        return mapper.writeValueAsBytes(order);
+    }
+    
+    @Benchmark
+    public byte[] orderView() throws Exception {
+        return mapper.writeValueAsBytes(orderView);
+    }
+}
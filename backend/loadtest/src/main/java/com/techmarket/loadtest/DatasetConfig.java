@@ -0,0 +1,116 @@
+package com.techmarket.loadtest;
+
+/**
+ * Veri üreteci seçenekleri (--anahtar=değer):
+ * <pre>
+ *   --url=jdbc:mysql://localhost:3306/techmarket?rewriteBatchedStatements=true
+ *   --user=root --password=
+ *   --out-dir=target/dataset   verilirse veritabanına yazmak yerine TSV + load.sql üretir
+ *   --customers=10000          alıcı sayısı
+ *   --sellers=100              satıcı sayısı
+ *   --categories=30            kategori sayısı
+ *   --products=10000           ürün sayısı
+ *   --orders=100000            sipariş sayısı
+ *   --max-items=5              sipariş başına en fazla farklı ürün
+ *   --carts=1000               dolu sepeti olan alıcı sayısı
+ *   --zipf=1.0                 ürün popülerliğinin Zipf üssü (0 = düzgün)
+ *   --days=365                 siparişlerin yayıldığı geçmiş gün sayısı
+ *   --batch=1000               INSERT statement'ı başına satır
+ *   --threads=4                siparişleri paralel yazan bağlantı sayısı
+ *   --seed=42
+ * </pre>
+ */
+public class DatasetConfig {
+    private String url;
+    private String user = "root";
+    private String password = "";
+    private String outDir;
+    private int customers = 10_000;
+    private int sellers = 100;
+    private int categories = 30;
+    private int products = 10_000;
+    private long orders = 100_000;
+    private int maxItems = 5;
+    private int carts = 1_000;
+    private double zipfExponent = 1.0;
+    private int days = 365;
+    private int batch = 1_000;
+    private int threads = 4;
+    private long seed = 42;
+    
+    public static DatasetConfig parse(String[] args) {
+        DatasetConfig config = new DatasetConfig();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (key) {
+                case "url" -> config.url = value;
+                case "user" -> config.user = value;
+                case "password" -> config.password = value;
+                case "out-dir" -> config.outDir = value;
+                case "customers" -> config.customers = Integer.parseInt(value);
+                case "sellers" -> config.sellers = Integer.parseInt(value);
+                case "categories" -> config.categories = Integer.parseInt(value);
+                case "products" -> config.products = Integer.parseInt(value);
+                case "orders" -> config.orders = Long.parseLong(value);
+                case "max-items" -> config.maxItems = Integer.parseInt(value);
+                case "carts" -> config.carts = Integer.parseInt(value);
+                case "zipf" -> config.zipfExponent = Double.parseDouble(value);
+                case "days" -> config.days = Integer.parseInt(value);
+                case "batch" -> config.batch = Integer.parseInt(value);
+                case "threads" -> config.threads = Integer.parseInt(value);
+                case "seed" -> config.seed = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + key);
+            }
+        }
+        if (config.url == null && config.outDir == null) {
+            throw new IllegalArgumentException("Either --url or --out-dir is required");
+        }
+        if (config.customers <= 0 || config.sellers <= 0 || config.categories <= 0 || config.products <= 0) {
+            throw new IllegalArgumentException("customers, sellers, categories and products must be positive");
+        }
+        if (config.maxItems <= 0 || config.maxItems > config.products) {
+            throw new IllegalArgumentException("max-items must be between 1 and products");
+        }
+        // her alıcının en fazla bir sepeti olabilir
+        config.carts = Math.max(Math.min(config.carts, config.customers), 0);
+        config.batch = Math.max(config.batch, 1);
+        config.threads = Math.max(config.threads, 1);
+        return config;
+    }
+    
+    public String getUrl() { return url; }
+    
+    public String getUser() { return user; }
+    
+    public String getPassword() { return password; }
+    
+    public String getOutDir() { return outDir; }
+    
+    public int getCustomers() { return customers; }
+    
+    public int getSellers() { return sellers; }
+    
+    public int getCategories() { return categories; }
+    
+    public int getProducts() { return products; }
+    
+    public long getOrders() { return orders; }
+    
+    public int getMaxItems() { return maxItems; }
+    
+    public int getCarts() { return carts; }
+    
+    public double getZipfExponent() { return zipfExponent; }
+    
+    public int getDays() { return days; }
+    
+    public int getBatch() { return batch; }
+    
+    public int getThreads() { return threads; }
+    
+    public long getSeed() { return seed; }
+}
@@ -0,0 +1,503 @@
+package com.techmarket.loadtest;
+
+import com.techmarket.model.OrderStatus;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sorgu planı ve indeks çalışmaları için üretim ölçeğinde sentetik veri üretir:
+ * user, category, product, cart, cart_item, order, order_item ve seller_order.
+ *
+ * Ürün popülerliği Zipf dağılımlıdır (yük testindeki ZipfSampler), siparişler --days
+ * gün geriye id sırasıyla yayılır ve yaşlarına göre durum alır. Satırlar ya doğrudan
+ * çok satırlı INSERT'lerle (siparişler --threads bağlantıyla paralel) ya da --out-dir
+ * verilirse LOAD DATA için TSV dosyalarına ve bir load.sql betiğine yazılır.
+ *
+ * Mevcut veriye eklenir: her tablonun id'leri MAX(id) ve id_generator'dan büyük başlar,
+ * bitişte id_generator uygulamanın verdiği bloklar çakışmayacak şekilde ileri alınır.
+ *
+ * <pre>
+ *   (loadtest) mvn package exec:exec@dataset -Ddataset.args="--url=jdbc:mysql://localhost:3306/techmarket?rewriteBatchedStatements=true
+ *              --password=... --customers=1000000 --products=1000000 --orders=10000000"
+ * </pre>
+ */
+public class DatasetGenerator {
+    // SQL Tablo.sql ile aynı: id_generator en büyük id'nin üzerinde bir blok boşluk bırakır
+    private static final int ALLOCATION_SIZE = 50;
+    private static final int STATEMENTS_PER_COMMIT = 10;
+    private static final int CHILD_ID_BLOCK = 10_000;
+    private static final String[] CITIES = {"İstanbul", "Ankara", "İzmir", "Bursa", "Antalya", "Konya", "Adana", "Trabzon"};
+    
+    static final Table USER = new Table("user", "user_id", "first_name", "last_name", "email", "password",
+            "phone", "address", "user_type", "created_at");
+    static final Table CATEGORY = new Table("category", "category_id", "name", "description", "created_at");
+    static final Table PRODUCT = new Table("product", "product_id", "seller_id", "category_id", "name",
+            "description", "price", "stock", "image_url", "is_active", "created_at", "updated_at");
+    static final Table CART = new Table("cart", "cart_id", "user_id", "created_at", "updated_at");
+    static final Table CART_ITEM = new Table("cart_item", "cart_item_id", "cart_id", "product_id", "quantity", "added_at");
+    static final Table ORDER = new Table("order", "order_id", "user_id", "total_amount", "status",
+            "shipping_address", "order_date", "updated_at");
+    static final Table ORDER_ITEM = new Table("order_item", "order_item_id", "order_id", "product_id", "quantity",
+            "price_at_purchase", "subtotal");
+    static final Table SELLER_ORDER = new Table("seller_order", "seller_order_id", "seller_id", "order_id",
+            "order_date", "seller_subtotal");
+    static final List<Table> TABLES = List.of(USER, CATEGORY, PRODUCT, CART, CART_ITEM, ORDER, ORDER_ITEM, SELLER_ORDER);
+    
+    private final DatasetConfig config;
+    private final Path outDir;
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+    private final Map<Table, Long> bases = new LinkedHashMap<>();
+    private final Map<Table, AtomicLong> maxIds = new LinkedHashMap<>();
+    private final Map<Table, LongAdder> rows = new LinkedHashMap<>();
+    private final LongAdder ordersWritten = new LongAdder();
+    private final List<String> loadStatements = new ArrayList<>();
+    
+    // i. ürünün (id = base + 1 + i) satıcı indeksi ve kuruş cinsinden fiyatı
+    private int[] productSeller;
+    private long[] productPrice;
+    // popülerlik sırası -> ürün indeksi; çok satanlar id'lere dağılsın diye karıştırılır
+    private int[] byRank;
+    private ZipfSampler popularity;
+    
+    public DatasetGenerator(DatasetConfig config) {
+        this.config = config;
+        this.outDir = config.getOutDir() == null ? null : Paths.get(config.getOutDir()).toAbsolutePath();
+        for (Table table : TABLES) {
+            maxIds.put(table, new AtomicLong());
+            rows.put(table, new LongAdder());
+        }
+    }
+    
+    public static void main(String[] args) throws Exception {
+        DatasetConfig config = DatasetConfig.parse(args);
+        long started = System.nanoTime();
+        new DatasetGenerator(config).run();
+        System.out.printf("Done in %.1fs%n", (System.nanoTime() - started) / 1e9);
+    }
+    
+    public void run() throws Exception {
+        if (outDir != null) {
+            Files.createDirectories(outDir);
+        }
+        try (Connection connection = config.getUrl() == null ? null : connect()) {
+            for (Table table : TABLES) {
+                bases.put(table, connection == null ? 0L : base(connection, table));
+            }
+            Random random = new Random(config.getSeed());
+            timed(USER, () -> writeUsers(connection, random));
+            timed(CATEGORY, () -> writeCategories(connection));
+            timed(PRODUCT, () -> writeProducts(connection, random));
+            popularity = new ZipfSampler(config.getProducts(), config.getZipfExponent());
+            timed(CART, () -> writeCarts(connection, random));
+            timed(ORDER, this::writeOrders);
+            
+            if (outDir == null) {
+                finish(connection);
+            } else {
+                writeLoadScript();
+            }
+        }
+        for (Table table : TABLES) {
+            System.out.printf("%-14s %,14d rows%n", table.name, rows.get(table).sum());
+        }
+    }
+    
+    private void writeUsers(Connection connection, Random random) throws Exception {
+        int total = config.getSellers() + config.getCustomers();
+        try (RowSink sink = open(connection, USER, 0)) {
+            for (int i = 0; i < total; i++) {
+                long id = bases.get(USER) + 1 + i;
+                boolean seller = i < config.getSellers();
+                sink.add(id, seller ? "Satıcı" : "Alıcı", "No" + id,
+                        (seller ? "satici" : "alici") + id + "@perf.techmarket.com", Seeder.PASSWORD,
+                        String.format("05%09d", id % 1_000_000_000L),
+                        CITIES[random.nextInt(CITIES.length)] + " Merkez",
+                        seller ? "SATICI" : "ALICI",
+                        now.minusDays(config.getDays() + random.nextInt(365)));
+            }
+            written(USER, sink, bases.get(USER) + total);
+        }
+    }
+    
+    private void writeCategories(Connection connection) throws Exception {
+        try (RowSink sink = open(connection, CATEGORY, 0)) {
+            for (int i = 0; i < config.getCategories(); i++) {
+                long id = bases.get(CATEGORY) + 1 + i;
+                String name = Seeder.CATEGORIES[i % Seeder.CATEGORIES.length] + " " + id;
+                sink.add(id, name, name + " ürünleri", now.minusDays(config.getDays()));
+            }
+            written(CATEGORY, sink, bases.get(CATEGORY) + config.getCategories());
+        }
+    }
+    
+    private void writeProducts(Connection connection, Random random) throws Exception {
+        int count = config.getProducts();
+        productSeller = new int[count];
+        productPrice = new long[count];
+        try (RowSink sink = open(connection, PRODUCT, 0)) {
+            for (int i = 0; i < count; i++) {
+                long id = bases.get(PRODUCT) + 1 + i;
+                productSeller[i] = random.nextInt(config.getSellers());
+                productPrice[i] = 100_00 + random.nextInt(5_000_000);
+                String name = Seeder.BRANDS[random.nextInt(Seeder.BRANDS.length)] + " "
+                        + Seeder.KINDS[random.nextInt(Seeder.KINDS.length)] + " "
+                        + Seeder.MODELS[random.nextInt(Seeder.MODELS.length)] + " " + (i % 20 + 1);
+                LocalDateTime created = now.minusDays(random.nextInt(config.getDays() + 1));
+                sink.add(id, sellerId(productSeller[i]), bases.get(CATEGORY) + 1 + random.nextInt(config.getCategories()),
+                        name, name + ", garantili", BigDecimal.valueOf(productPrice[i], 2), random.nextInt(501), "",
+                        random.nextInt(50) != 0, created, created);
+            }
+            written(PRODUCT, sink, bases.get(PRODUCT) + count);
+        }
+        byRank = new int[count];
+        for (int i = 0; i < count; i++) {
+            byRank[i] = i;
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = byRank[i];
+            byRank[i] = byRank[j];
+            byRank[j] = t;
+        }
+    }
+    
+    // Sepetler alıcılara eşit aralıkla dağıtılır; her alıcının en fazla bir sepeti olur
+    private void writeCarts(Connection connection, Random random) throws Exception {
+        long itemId = bases.get(CART_ITEM);
+        int[] chosen = new int[config.getMaxItems()];
+        try (RowSink carts = open(connection, CART, 0); RowSink items = open(connection, CART_ITEM, 0, carts)) {
+            for (int k = 0; k < config.getCarts(); k++) {
+                long cartId = bases.get(CART) + 1 + k;
+                LocalDateTime updated = now.minusMinutes(random.nextInt(7 * 24 * 60));
+                carts.add(cartId, customerId((int) ((long) k * config.getCustomers() / config.getCarts())),
+                        updated.minusDays(random.nextInt(30)), updated);
+                int lines = pickProducts(random, chosen);
+                for (int l = 0; l < lines; l++) {
+                    items.add(++itemId, cartId, productId(chosen[l]), 1 + random.nextInt(3), updated);
+                }
+            }
+            written(CART, carts, bases.get(CART) + config.getCarts());
+            written(CART_ITEM, items, itemId);
+        }
+    }
+    
+    private void writeOrders() throws Exception {
+        int slices = (int) Math.max(1, Math.min(config.getThreads(), config.getOrders()));
+        AtomicLong itemIds = new AtomicLong(bases.get(ORDER_ITEM));
+        AtomicLong sellerOrderIds = new AtomicLong(bases.get(SELLER_ORDER));
+        ExecutorService executor = Executors.newFixedThreadPool(slices);
+        try {
+            List<Future<Void>> futures = new ArrayList<>(slices);
+            for (int s = 0; s < slices; s++) {
+                long from = config.getOrders() * s / slices;
+                long to = config.getOrders() * (s + 1) / slices;
+                int slice = s;
+                futures.add(executor.submit(() -> {
+                    writeOrderSlice(slice, from, to, itemIds, sellerOrderIds);
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                while (true) {
+                    try {
+                        future.get(10, TimeUnit.SECONDS);
+                        break;
+                    } catch (TimeoutException ex) {
+                        System.out.printf("  orders %,d / %,d%n", ordersWritten.sum(), config.getOrders());
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private void writeOrderSlice(int slice, long from, long to, AtomicLong itemIds, AtomicLong sellerOrderIds) throws Exception {
+        Random random = new Random(config.getSeed() * 31 + slice);
+        long span = config.getDays() * 86_400L;
+        LocalDateTime start = now.minusDays(config.getDays());
+        int[] chosen = new int[config.getMaxItems()];
+        int[] sellers = new int[config.getMaxItems()];
+        long[] sellerTotals = new long[config.getMaxItems()];
+        IdRange itemRange = new IdRange(itemIds);
+        IdRange sellerOrderRange = new IdRange(sellerOrderIds);
+        
+        try (Connection connection = outDir != null ? null : connect();
+             RowSink orders = open(connection, ORDER, slice);
+             RowSink items = open(connection, ORDER_ITEM, slice, orders);
+             RowSink sellerOrders = open(connection, SELLER_ORDER, slice, orders)) {
+            for (long i = from; i < to; i++) {
+                long orderId = bases.get(ORDER) + 1 + i;
+                LocalDateTime date = start.plusSeconds(span * i / config.getOrders());
+                String status = status(random, span - span * i / config.getOrders()).name();
+                int lines = pickProducts(random, chosen);
+                
+                long total = 0;
+                int sellerCount = 0;
+                List<Object[]> itemRows = new ArrayList<>(lines);
+                for (int l = 0; l < lines; l++) {
+                    int product = chosen[l];
+                    int quantity = random.nextInt(10) == 0 ? 2 + random.nextInt(3) : 1;
+                    long subtotal = productPrice[product] * quantity;
+                    itemRows.add(new Object[] {itemRange.next(), orderId, productId(product), quantity,
+                            BigDecimal.valueOf(productPrice[product], 2), BigDecimal.valueOf(subtotal, 2)});
+                    total += subtotal;
+                    int s = 0;
+                    while (s < sellerCount && sellers[s] != productSeller[product]) {
+                        s++;
+                    }
+                    if (s == sellerCount) {
+                        sellers[sellerCount] = productSeller[product];
+                        sellerTotals[sellerCount++] = 0;
+                    }
+                    sellerTotals[s] += subtotal;
+                }
+                orders.add(orderId, customerId(random.nextInt(config.getCustomers())), BigDecimal.valueOf(total, 2),
+                        status, CITIES[random.nextInt(CITIES.length)] + " Mah. No:" + (1 + random.nextInt(200)),
+                        date, date);
+                for (Object[] row : itemRows) {
+                    items.add(row);
+                }
+                for (int s = 0; s < sellerCount; s++) {
+                    sellerOrders.add(sellerOrderRange.next(), sellerId(sellers[s]), orderId, date,
+                            BigDecimal.valueOf(sellerTotals[s], 2));
+                }
+                ordersWritten.increment();
+            }
+            written(ORDER, orders, bases.get(ORDER) + to);
+            written(ORDER_ITEM, items, itemRange.max());
+            written(SELLER_ORDER, sellerOrders, sellerOrderRange.max());
+        }
+    }
+    
+    // Sipariş başına 1..maxItems farklı ürün, küçük sepetler daha sık; Zipf'e göre seçilir
+    private int pickProducts(Random random, int[] chosen) {
+        double r = random.nextDouble();
+        int wanted = 1 + (int) (config.getMaxItems() * r * r);
+        int count = 0;
+        for (int attempt = 0; count < wanted && attempt < wanted * 20; attempt++) {
+            int product = byRank[popularity.next(random)];
+            boolean duplicate = false;
+            for (int j = 0; j < count && !duplicate; j++) {
+                duplicate = chosen[j] == product;
+            }
+            if (!duplicate) {
+                chosen[count++] = product;
+            }
+        }
+        return count;
+    }
+    
+    private static OrderStatus status(Random random, long ageSeconds) {
+        if (random.nextInt(100) < 3) {
+            return OrderStatus.IPTAL;
+        }
+        long ageDays = ageSeconds / 86_400;
+        if (ageDays > 7) {
+            return OrderStatus.TESLIM_EDILDI;
+        }
+        if (ageDays > 3) {
+            return OrderStatus.KARGODA;
+        }
+        return ageDays > 1 ? OrderStatus.ONAYLANDI : OrderStatus.BEKLEMEDE;
+    }
+    
+    private long sellerId(int index) {
+        return bases.get(USER) + 1 + index;
+    }
+    
+    private long customerId(int index) {
+        return bases.get(USER) + 1 + config.getSellers() + index;
+    }
+    
+    private long productId(int index) {
+        return bases.get(PRODUCT) + 1 + index;
+    }
+    
+    private Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(config.getUrl(), config.getUser(), config.getPassword());
+        connection.setAutoCommit(false);
+        // Sıralı id'lerle toplu yükleme: kısıtlar üretici tarafından sağlanıyor
+        if (isMySql(connection)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET SESSION unique_checks = 0, foreign_key_checks = 0");
+            }
+        }
+        return connection;
+    }
+    
+    private static boolean isMySql(Connection connection) throws SQLException {
+        return connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+    }
+    
+    // Uygulamanın zaten dağıttığı id blokları da atlanır
+    private static long base(Connection connection, Table table) throws SQLException {
+        long base = 0;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(" + table.id + "), 0) FROM `" + table.name + "`")) {
+            rs.next();
+            base = rs.getLong(1);
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT next_val FROM id_generator WHERE sequence_name = ?")) {
+            statement.setString(1, table.name);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next()) {
+                    base = Math.max(base, rs.getLong(1));
+                }
+            }
+        }
+        return base;
+    }
+    
+    private RowSink open(Connection connection, Table table, int slice) throws IOException {
+        return open(connection, table, slice, null);
+    }
+    
+    // parent aynı bağlantıdaki üst tablo sink'idir; alt satırlardan önce onun bekleyenleri yazılır
+    private RowSink open(Connection connection, Table table, int slice, RowSink parent) throws IOException {
+        if (outDir == null) {
+            return new MultiRowInsertSink(connection, table.name, table.columns, config.getBatch(), STATEMENTS_PER_COMMIT,
+                    (MultiRowInsertSink) parent);
+        }
+        Path file = outDir.resolve(table.name + "." + slice + ".tsv");
+        synchronized (loadStatements) {
+            loadStatements.add("LOAD DATA LOCAL INFILE '" + file.toString().replace("\\", "/")
+                    + "' INTO TABLE `" + table.name + "` CHARACTER SET utf8mb4 (" + String.join(", ", table.columns) + ");");
+        }
+        return new TsvFileSink(file);
+    }
+    
+    private void written(Table table, RowSink sink, long maxId) {
+        rows.get(table).add(sink.count());
+        if (sink.count() > 0) {
+            maxIds.get(table).accumulateAndGet(maxId, Math::max);
+        }
+    }
+    
+    private void finish(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(idGeneratorSql())) {
+            for (Table table : TABLES) {
+                if (maxIds.get(table).get() > 0) {
+                    statement.setString(1, table.name);
+                    statement.setLong(2, maxIds.get(table).get() + ALLOCATION_SIZE + 1);
+                    statement.executeUpdate();
+                }
+            }
+        }
+        connection.commit();
+        if (isMySql(connection)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE TABLE " + tableList());
+            }
+        }
+    }
+    
+    private void writeLoadScript() throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("-- mysql --local-infile=1 -u root -p techmarket < load.sql");
+        lines.add("SET unique_checks = 0;");
+        lines.add("SET foreign_key_checks = 0;");
+        lines.addAll(loadStatements);
+        lines.add("SET foreign_key_checks = 1;");
+        lines.add("SET unique_checks = 1;");
+        for (Table table : TABLES) {
+            if (maxIds.get(table).get() > 0) {
+                lines.add(idGeneratorSql().replaceFirst("\\?", "'" + table.name + "'")
+                        .replaceFirst("\\?", String.valueOf(maxIds.get(table).get() + ALLOCATION_SIZE + 1)) + ";");
+            }
+        }
+        lines.add("ANALYZE TABLE " + tableList() + ";");
+        Path script = outDir.resolve("load.sql");
+        Files.write(script, lines, StandardCharsets.UTF_8);
+        System.out.println("Load script written to " + script);
+    }
+    
+    private static String idGeneratorSql() {
+        return "INSERT INTO id_generator (sequence_name, next_val) VALUES (?, ?) "
+                + "ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))";
+    }
+    
+    private static String tableList() {
+        List<String> names = new ArrayList<>();
+        for (Table table : TABLES) {
+            names.add("`" + table.name + "`");
+        }
+        return String.join(", ", names);
+    }
+    
+    private void timed(Table table, Step step) throws Exception {
+        long started = System.nanoTime();
+        long before = rows.get(table).sum();
+        step.run();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long written = rows.get(table).sum() - before;
+        System.out.printf("%-14s %,14d rows %8.1fs %,12.0f rows/s%n", table.name, written, seconds, written / seconds);
+    }
+    
+    private interface Step {
+        void run() throws Exception;
+    }
+    
+    static final class Table {
+        final String name;
+        final String id;
+        final String[] columns;
+        
+        Table(String name, String id, String... columns) {
+            this.name = name;
+            this.id = id;
+            this.columns = new String[columns.length + 1];
+            this.columns[0] = id;
+            System.arraycopy(columns, 0, this.columns, 1, columns.length);
+        }
+    }
+    
+    // Paralel dilimler alt tablo id'lerini paylaşılan sayaçtan bloklar halinde alır
+    private static final class IdRange {
+        private final AtomicLong shared;
+        private long next;
+        private long limit;
+        private long max;
+        
+        IdRange(AtomicLong shared) {
+            this.shared = shared;
+        }
+        
+        long next() {
+            if (next == limit) {
+                next = shared.getAndAdd(CHILD_ID_BLOCK) + 1;
+                limit = next + CHILD_ID_BLOCK;
+            }
+            max = next;
+            return next++;
+        }
+        
+        long max() {
+            return max;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.techmarket.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.techmarket.TechmarketApplication;
+import com.techmarket.catalog.CatalogCache;
+import com.techmarket.search.ProductSearchIndex;
+import com.techmarket.search.ProductSuggestIndex;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.io.File;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Uçtan uca yük testi: uygulamayı H2 (MySQL modu) ile rastgele bir portta başlatır,
+ * sentetik veriyi yükler, sanal kullanıcılarla uç nokta karışımını çalıştırır ve uç nokta
+ * başına istek hızı ile p50/p99/p999 gecikmelerini JSON rapora yazar. Rapor alanları sabit
+ * sırada yazılır; iki derlemenin raporu doğrudan diff'lenebilir.
+ *
+ * --server-threads=both aynı yükü önce platform, sonra virtual thread modunda çalıştırır
+ * ve iki sonucu yan yana raporlar. Sanal kullanıcıların kendisi de virtual thread'dir.
+ */
+public class LoadTest {
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        int exitCode = 0;
+        try {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("runId", UUID.randomUUID().toString());
+            report.put("config", config.describe());
+            List<String> modes = config.getServerThreadModes();
+            if (modes.size() == 1) {
+                report.putAll(runMode(config, modes.get(0)));
+            } else {
+                // aynı tohum veriyle art arda; her mod kendi uygulama bağlamında ölçülür
+                Map<String, Object> byMode = new LinkedHashMap<>();
+                for (String mode : modes) {
+                    byMode.put(mode, runMode(config, mode));
+                }
+                report.put("modes", byMode);
+                printComparison(byMode);
+            }
+            File out = new File(config.getOut());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out, report);
+            System.out.println("Report written to " + out.getAbsolutePath());
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            exitCode = 1;
+        }
+        System.exit(exitCode);
+    }
+    
+    private static Map<String, Object> runMode(LoadTestConfig config, String mode) throws Exception {
+        ConfigurableApplicationContext context = start(LoadTestConfig.VIRTUAL.equals(mode));
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            System.out.printf("%n[%s threads] Seeding %d customers, %d sellers, %d products...%n",
+                    mode, config.getCustomers(), config.getSellers(), config.getProducts());
+            Seeder.SeedData data = new Seeder(context).seed(config);
+            // indeksler ApplicationReadyEvent'te boş veritabanıyla kuruldu; tohum veriden yeniden kur
+            context.getBean(ProductSearchIndex.class).rebuild();
+            context.getBean(ProductSuggestIndex.class).rebuild();
+            context.getBean(CatalogCache.class).rebuild();
+            return run(config, data, "http://localhost:" + port);
+        } finally {
+            context.close();
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static void printComparison(Map<String, Object> byMode) {
+        System.out.printf("%n%-10s %10s %9s %9s %7s%n", "threads", "req/s", "p99 ms", "p999 ms", "errors");
+        byMode.forEach((mode, result) -> {
+            Map<String, Object> total = (Map<String, Object>) ((Map<String, Object>) result).get("total");
+            System.out.printf("%-10s %10.1f %9.3f %9.3f %7d%n", mode, total.get("throughputPerSec"),
+                    total.get("p99Ms"), total.get("p999Ms"), total.get("errors"));
+        });
+    }
+    
+    static Map<String, Object> run(LoadTestConfig config, Seeder.SeedData data, String baseUrl) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ZipfSampler popularity = new ZipfSampler(data.productCount(), config.getZipfExponent());
+        long measureFrom = System.nanoTime() + config.getWarmupSeconds() * 1_000_000_000L;
+        long end = measureFrom + config.getDurationSeconds() * 1_000_000_000L;
+        
+        List<VirtualUser> users = new ArrayList<>(config.getUsers());
+        List<Thread> threads = new ArrayList<>(config.getUsers());
+        for (int i = 0; i < config.getUsers(); i++) {
+            VirtualUser user = new VirtualUser(client, baseUrl, data, popularity, config.getMix(),
+                    measureFrom, end, config.getSeed() + i);
+            users.add(user);
+            // istemci tarafı binlerce kullanıcıda darboğaz olmasın
+            threads.add(Thread.ofVirtual().name("vu-" + i).start(user));
+        }
+        System.out.printf("Running %d virtual users: %ds warm-up, %ds measured%n",
+                config.getUsers(), config.getWarmupSeconds(), config.getDurationSeconds());
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        Map<Operation, Histogram> merged = new EnumMap<>(Operation.class);
+        Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+        Histogram total = new Histogram(VirtualUser.MAX_LATENCY_MICROS, 3);
+        for (VirtualUser user : users) {
+            user.getLatencies().forEach((op, h) -> {
+                merged.computeIfAbsent(op, k -> new Histogram(VirtualUser.MAX_LATENCY_MICROS, 3)).add(h);
+                total.add(h);
+            });
+            user.getErrors().forEach((op, n) -> errors.merge(op, n, Long::sum));
+        }
+        
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf("%n%-14s %9s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        long totalErrors = 0;
+        for (Map.Entry<Operation, Histogram> e : merged.entrySet()) {
+            long errorCount = errors.getOrDefault(e.getKey(), 0L);
+            totalErrors += errorCount;
+            endpoints.put(e.getKey().getKey(), summarize(e.getValue(), errorCount, config.getDurationSeconds()));
+            print(e.getKey().getKey(), e.getValue(), errorCount, config.getDurationSeconds());
+        }
+        print("TOTAL", total, totalErrors, config.getDurationSeconds());
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("endpoints", endpoints);
+        report.put("total", summarize(total, totalErrors, config.getDurationSeconds()));
+        return report;
+    }
+    
+    private static Map<String, Object> summarize(Histogram h, long errors, int seconds) {
+        Map<String, Object> s = new LinkedHashMap<>();
+        s.put("requests", h.getTotalCount());
+        s.put("errors", errors);
+        s.put("throughputPerSec", round(h.getTotalCount() / (double) seconds));
+        s.put("p50Ms", millis(h.getValueAtPercentile(50)));
+        s.put("p90Ms", millis(h.getValueAtPercentile(90)));
+        s.put("p99Ms", millis(h.getValueAtPercentile(99)));
+        s.put("p999Ms", millis(h.getValueAtPercentile(99.9)));
+        s.put("maxMs", millis(h.getMaxValue()));
+        return s;
+    }
+    
+    private static void print(String name, Histogram h, long errors, int seconds) {
+        System.out.printf("%-14s %9d %7d %10.1f %9.3f %9.3f %9.3f %9.3f%n", name, h.getTotalCount(), errors,
+                h.getTotalCount() / (double) seconds, millis(h.getValueAtPercentile(50)),
+                millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()));
+    }
+    
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+    
+    // H2 ayarları backend'in "embedded" profilinden gelir (application-embedded.properties);
+    // port ve thread modu application.properties'i ezmesi için komut satırı argümanı olarak verilir;
+    // X-Forwarded-For, sanal kullanıcıların kabul kontrolünde ayrı istemciler olarak görünmesi içindir
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(TechmarketApplication.class)
+                .profiles("embedded")
+                .run("--server.port=0", "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.forward-headers-strategy=native");
+    }
+}
@@ -0,0 +1,125 @@
+package com.techmarket.loadtest;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Komut satırı seçenekleri (--anahtar=değer):
+ * <pre>
+ *   --users=32          eşzamanlı sanal kullanıcı
+ *   --duration=30       ölçüm süresi (sn)
+ *   --warmup=10         ısınma süresi (sn), rapora girmez
+ *   --customers=1000    üretilecek alıcı sayısı
+ *   --sellers=50        üretilecek satıcı sayısı
+ *   --products=10000    üretilecek ürün sayısı
+ *   --zipf=1.0          ürün popülerliğinin Zipf üssü (0 = düzgün)
+ *   --mix=login:5,catalog:2,catalogPage:25,productDetail:30,search:15,cartAdd:15,order:8
+ *   --server-threads=platform   sunucu istek thread'leri: platform, virtual ya da both (ikisini karşılaştırır)
+ *   --seed=42           rastgele tohum
+ *   --out=loadtest-report.json
+ * </pre>
+ */
+public class LoadTestConfig {
+    static final String PLATFORM = "platform";
+    static final String VIRTUAL = "virtual";
+    static final String DEFAULT_MIX = "login:5,catalog:2,catalogPage:25,productDetail:30,search:15,cartAdd:15,order:8";
+    
+    private int users = 32;
+    private int durationSeconds = 30;
+    private int warmupSeconds = 10;
+    private int customers = 1000;
+    private int sellers = 50;
+    private int products = 10_000;
+    private double zipfExponent = 1.0;
+    private long seed = 42;
+    private String out = "loadtest-report.json";
+    private List<String> serverThreadModes = List.of(PLATFORM);
+    private Map<Operation, Integer> mix = parseMix(DEFAULT_MIX);
+    
+    public static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (key) {
+                case "users" -> config.users = Integer.parseInt(value);
+                case "duration" -> config.durationSeconds = Integer.parseInt(value);
+                case "warmup" -> config.warmupSeconds = Integer.parseInt(value);
+                case "customers" -> config.customers = Integer.parseInt(value);
+                case "sellers" -> config.sellers = Integer.parseInt(value);
+                case "products" -> config.products = Integer.parseInt(value);
+                case "zipf" -> config.zipfExponent = Double.parseDouble(value);
+                case "seed" -> config.seed = Long.parseLong(value);
+                case "out" -> config.out = value;
+                case "mix" -> config.mix = parseMix(value);
+                case "server-threads" -> config.serverThreadModes = switch (value) {
+                    case PLATFORM, VIRTUAL -> List.of(value);
+                    case "both" -> List.of(PLATFORM, VIRTUAL);
+                    default -> throw new IllegalArgumentException("server-threads must be platform, virtual or both");
+                };
+                default -> throw new IllegalArgumentException("Unknown option: --" + key);
+            }
+        }
+        return config;
+    }
+    
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] kv = part.trim().split(":");
+            int weight = Integer.parseInt(kv[1]);
+            if (weight > 0) {
+                mix.put(Operation.fromKey(kv[0]), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Mix must contain at least one operation");
+        }
+        return mix;
+    }
+    
+    /** Rapora yazılan, sıralı ve karşılaştırılabilir özet. */
+    public Map<String, Object> describe() {
+        Map<String, Object> d = new LinkedHashMap<>();
+        d.put("users", users);
+        d.put("durationSeconds", durationSeconds);
+        d.put("warmupSeconds", warmupSeconds);
+        d.put("customers", customers);
+        d.put("sellers", sellers);
+        d.put("products", products);
+        d.put("zipfExponent", zipfExponent);
+        d.put("seed", seed);
+        d.put("serverThreads", serverThreadModes);
+        Map<String, Integer> m = new LinkedHashMap<>();
+        mix.forEach((op, weight) -> m.put(op.getKey(), weight));
+        d.put("mix", m);
+        return d;
+    }
+    
+    public int getUsers() { return users; }
+    
+    public int getDurationSeconds() { return durationSeconds; }
+    
+    public int getWarmupSeconds() { return warmupSeconds; }
+    
+    public int getCustomers() { return customers; }
+    
+    public int getSellers() { return sellers; }
+    
+    public int getProducts() { return products; }
+    
+    public double getZipfExponent() { return zipfExponent; }
+    
+    public long getSeed() { return seed; }
+    
+    public String getOut() { return out; }
+    
+    public Map<Operation, Integer> getMix() { return mix; }
+    
+    public List<String> getServerThreadModes() { return serverThreadModes; }
+}
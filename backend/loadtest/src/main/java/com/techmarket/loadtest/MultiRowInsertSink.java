@@ -0,0 +1,115 @@
+package com.techmarket.loadtest;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Satırları tek statement'ta çok satırlı INSERT olarak yazar:
+ * INSERT INTO t (a, b) VALUES (?, ?), (?, ?), ... Tam dolu statement bir kez hazırlanıp
+ * tekrar kullanılır; kalan satırlar kapanışta kendi boyundaki bir statement ile yazılır.
+ * Her statementsPerCommit statement'ta bir commit edilir ki undo log şişmesin.
+ *
+ * parent verilirse (ör. cart_item için cart) her statement'tan önce parent'ın bekleyen
+ * satırları yazılır; alt satırlar foreign key kontrolü açıkken de üst satırlardan sonra gelir.
+ */
+public class MultiRowInsertSink implements RowSink {
+    private final Connection connection;
+    private final String table;
+    private final String[] columns;
+    private final int rowsPerStatement;
+    private final int statementsPerCommit;
+    private final MultiRowInsertSink parent;
+    private final List<Object[]> buffer;
+    private PreparedStatement full;
+    private int uncommitted;
+    private long count;
+    
+    public MultiRowInsertSink(Connection connection, String table, String[] columns,
+                              int rowsPerStatement, int statementsPerCommit) {
+        this(connection, table, columns, rowsPerStatement, statementsPerCommit, null);
+    }
+    
+    public MultiRowInsertSink(Connection connection, String table, String[] columns,
+                              int rowsPerStatement, int statementsPerCommit, MultiRowInsertSink parent) {
+        this.connection = connection;
+        this.table = table;
+        this.columns = columns;
+        this.rowsPerStatement = rowsPerStatement;
+        this.statementsPerCommit = statementsPerCommit;
+        this.parent = parent;
+        this.buffer = new ArrayList<>(rowsPerStatement);
+    }
+    
+    @Override
+    public void add(Object... values) throws SQLException {
+        buffer.add(values);
+        count++;
+        if (buffer.size() == rowsPerStatement) {
+            if (full == null) {
+                full = connection.prepareStatement(sql(rowsPerStatement));
+            }
+            execute(full);
+        }
+    }
+    
+    @Override
+    public long count() {
+        return count;
+    }
+    
+    /** Bekleyen satırları hemen yazar (commit etmez). */
+    public void flush() throws SQLException {
+        if (!buffer.isEmpty()) {
+            try (PreparedStatement tail = connection.prepareStatement(sql(buffer.size()))) {
+                execute(tail);
+            }
+        }
+    }
+    
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+            connection.commit();
+        } finally {
+            if (full != null) {
+                full.close();
+            }
+        }
+    }
+    
+    private void execute(PreparedStatement statement) throws SQLException {
+        if (parent != null) {
+            parent.flush();
+        }
+        int index = 1;
+        for (Object[] row : buffer) {
+            for (Object value : row) {
+                statement.setObject(index++, value);
+            }
+        }
+        statement.executeUpdate();
+        buffer.clear();
+        if (++uncommitted >= statementsPerCommit) {
+            connection.commit();
+            uncommitted = 0;
+        }
+    }
+    
+    private String sql(int rows) {
+        String tuple = "(" + "?, ".repeat(columns.length - 1) + "?)";
+        StringBuilder sql = new StringBuilder(64 + rows * (tuple.length() + 2))
+                .append("INSERT INTO `").append(table).append("` (")
+                .append(String.join(", ", columns)).append(") VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(tuple);
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,29 @@
+package com.techmarket.loadtest;
+
+/** Sanal kullanıcıların çağırdığı uç noktalar; rapordaki anahtarlar key alanıdır. */
+public enum Operation {
+    LOGIN("login"),
+    CATALOG("catalog"),
+    CATALOG_PAGE("catalogPage"),
+    PRODUCT_DETAIL("productDetail"),
+    SEARCH("search"),
+    CART_ADD("cartAdd"),
+    ORDER("order");
+    
+    private final String key;
+    
+    Operation(String key) {
+        this.key = key;
+    }
+    
+    public String getKey() { return key; }
+    
+    public static Operation fromKey(String key) {
+        for (Operation op : values()) {
+            if (op.key.equals(key)) {
+                return op;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+}
@@ -0,0 +1,16 @@
+package com.techmarket.loadtest;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/** Veri üretecinin satır yazdığı hedef: doğrudan veritabanı ya da LOAD DATA dosyası. */
+public interface RowSink extends AutoCloseable {
+    
+    void add(Object... values) throws IOException, SQLException;
+    
+    long count();
+    
+    /** Bekleyen satırları yazar ve kaynağı kapatır. */
+    @Override
+    void close() throws IOException, SQLException;
+}
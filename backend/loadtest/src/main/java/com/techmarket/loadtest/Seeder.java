@@ -0,0 +1,147 @@
+package com.techmarket.loadtest;
+
+import com.techmarket.model.Category;
+import com.techmarket.model.Product;
+import com.techmarket.model.User;
+import com.techmarket.repository.CategoryRepository;
+import com.techmarket.repository.ProductRepository;
+import com.techmarket.repository.UserRepository;
+import org.springframework.context.ApplicationContext;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Yük testi için sentetik alıcı, satıcı, kategori ve ürünleri repository'ler üzerinden
+ * (Hibernate batch insert) yazar. Ürünler popülerlik sırasına göre karıştırılır ki
+ * çok satanlar düşük id'lerde toplanmasın.
+ */
+public class Seeder {
+    static final String PASSWORD = "test123";
+    static final String[] BRANDS = {"Apple", "Samsung", "Xiaomi", "Lenovo", "Asus", "Sony", "Logitech", "Huawei"};
+    static final String[] MODELS = {"Pro", "Air", "Max", "Ultra", "Lite", "Plus", "Mini", "Note", "Edge", "Go"};
+    static final String[] KINDS = {"Telefon", "Laptop", "Tablet", "Kulaklık", "Mouse", "Klavye", "Monitör", "Saat"};
+    static final String[] CATEGORIES = {"Bilgisayar", "Telefon", "Tablet", "Aksesuar", "Oyun Konsolu", "Kulaklık"};
+    private static final int CHUNK = 1000;
+    
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    
+    public Seeder(ApplicationContext context) {
+        this.userRepository = context.getBean(UserRepository.class);
+        this.categoryRepository = context.getBean(CategoryRepository.class);
+        this.productRepository = context.getBean(ProductRepository.class);
+    }
+    
+    public SeedData seed(LoadTestConfig config) {
+        Random random = new Random(config.getSeed());
+        
+        List<User> sellers = saveUsers("satici", config.getSellers());
+        List<User> customers = saveUsers("alici", config.getCustomers());
+        
+        List<Category> categories = new ArrayList<>();
+        for (String name : CATEGORIES) {
+            Category category = new Category();
+            category.setName(name);
+            category.setDescription(name + " ürünleri");
+            categories.add(category);
+        }
+        categories = categoryRepository.saveAll(categories);
+        
+        List<Product> products = new ArrayList<>(config.getProducts());
+        List<Product> chunk = new ArrayList<>(CHUNK);
+        for (int i = 0; i < config.getProducts(); i++) {
+            Product product = new Product();
+            product.setSeller(sellers.get(random.nextInt(sellers.size())));
+            product.setCategory(categories.get(random.nextInt(categories.size())));
+            product.setName(BRANDS[random.nextInt(BRANDS.length)] + " " + KINDS[random.nextInt(KINDS.length)] + " "
+                    + MODELS[random.nextInt(MODELS.length)] + " " + (i % 20 + 1));
+            product.setDescription(product.getName() + ", garantili");
+            product.setPrice(BigDecimal.valueOf(100_00 + random.nextInt(5_000_000), 2));
+            // stok bitip siparişler 400 dönmesin
+            product.setStock(1_000_000);
+            product.setImageUrl("");
+            chunk.add(product);
+            if (chunk.size() == CHUNK) {
+                products.addAll(productRepository.saveAll(chunk));
+                chunk.clear();
+            }
+        }
+        products.addAll(productRepository.saveAll(chunk));
+        Collections.shuffle(products, random);
+        
+        List<String> vocabulary = new ArrayList<>();
+        Collections.addAll(vocabulary, BRANDS);
+        Collections.addAll(vocabulary, KINDS);
+        for (String model : MODELS) {
+            vocabulary.add(BRANDS[random.nextInt(BRANDS.length)] + " " + model);
+        }
+        return new SeedData(customers, products, vocabulary);
+    }
+    
+    private List<User> saveUsers(String prefix, int count) {
+        List<User> saved = new ArrayList<>(count);
+        List<User> chunk = new ArrayList<>(CHUNK);
+        for (int i = 1; i <= count; i++) {
+            User user = new User();
+            user.setEmail(prefix + i + "@techmarket.com");
+            user.setPassword(PASSWORD);
+            user.setFirstName(prefix.substring(0, 1).toUpperCase() + prefix.substring(1));
+            user.setLastName("No" + i);
+            user.setPhone("0555" + (1_000_000 + i));
+            user.setAddress("İstanbul Merkez");
+            chunk.add(user);
+            if (chunk.size() == CHUNK) {
+                saved.addAll(userRepository.saveAll(chunk));
+                chunk.clear();
+            }
+        }
+        saved.addAll(userRepository.saveAll(chunk));
+        return saved;
+    }
+    
+    /** Sanal kullanıcıların seçim yaptığı, değişmez tohum verisi. */
+    public static class SeedData {
+        private final long[] customerIds;
+        private final String[] customerEmails;
+        private final long[] productIds;
+        private final BigDecimal[] prices;
+        private final String[] searchTerms;
+        
+        SeedData(List<User> customers, List<Product> products, List<String> searchTerms) {
+            customerIds = new long[customers.size()];
+            customerEmails = new String[customers.size()];
+            for (int i = 0; i < customers.size(); i++) {
+                customerIds[i] = customers.get(i).getUserId();
+                customerEmails[i] = customers.get(i).getEmail();
+            }
+            productIds = new long[products.size()];
+            prices = new BigDecimal[products.size()];
+            for (int i = 0; i < products.size(); i++) {
+                productIds[i] = products.get(i).getProductId();
+                prices[i] = products.get(i).getPrice();
+            }
+            this.searchTerms = searchTerms.toArray(String[]::new);
+        }
+        
+        public int customerCount() { return customerIds.length; }
+        
+        public long customerId(int i) { return customerIds[i]; }
+        
+        public String customerEmail(int i) { return customerEmails[i]; }
+        
+        /** rank: popülerlik sırası (0 en popüler). */
+        public long productId(int rank) { return productIds[rank]; }
+        
+        public BigDecimal price(int rank) { return prices[rank]; }
+        
+        public int productCount() { return productIds.length; }
+        
+        public String searchTerm(int i) { return searchTerms[i % searchTerms.length]; }
+        
+        public int searchTermCount() { return searchTerms.length; }
+    }
+}
@@ -0,0 +1,73 @@
+package com.techmarket.loadtest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Satırları MySQL LOAD DATA'nın varsayılan biçiminde yazar: sekmeyle ayrılmış alanlar,
+ * satır sonu ayracı, ters bölü kaçışı, NULL için \N.
+ */
+public class TsvFileSink implements RowSink {
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    private final BufferedWriter writer;
+    private long count;
+    
+    public TsvFileSink(Path file) throws IOException {
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+    }
+    
+    @Override
+    public void add(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write('\t');
+            }
+            write(values[i]);
+        }
+        writer.write('\n');
+        count++;
+    }
+    
+    @Override
+    public long count() {
+        return count;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+    
+    private void write(Object value) throws IOException {
+        if (value == null) {
+            writer.write("\\N");
+        } else if (value instanceof Boolean b) {
+            writer.write(b ? '1' : '0');
+        } else if (value instanceof LocalDateTime time) {
+            writer.write(TIMESTAMP.format(time));
+        } else if (value instanceof BigDecimal decimal) {
+            writer.write(decimal.toPlainString());
+        } else if (value instanceof Number) {
+            writer.write(value.toString());
+        } else {
+            String text = value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\' -> writer.write("\\\\");
+                    case '\t' -> writer.write("\\t");
+                    case '\n' -> writer.write("\\n");
+                    case '\r' -> writer.write("\\r");
+                    default -> writer.write(c);
+                }
+            }
+        }
+    }
+}
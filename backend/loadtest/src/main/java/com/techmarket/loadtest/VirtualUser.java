@@ -0,0 +1,188 @@
+package com.techmarket.loadtest;
+
+import org.HdrHistogram.Histogram;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Kapalı döngü sanal kullanıcı: bir istek biter bitmez karışımdan bir sonrakini seçer.
+ * Gecikmeler uç nokta başına kendi histogramına (mikrosaniye) yazılır; ısınma süresindeki
+ * istekler kaydedilmez. Kapalı döngü olduğundan sunucu yavaşladıkça istek hızı da düşer
+ * (coordinated omission); yüzdelikler bu kabulle okunmalıdır.
+ */
+public class VirtualUser implements Runnable {
+    static final long MAX_LATENCY_MICROS = 60_000_000L;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Seeder.SeedData data;
+    private final ZipfSampler popularity;
+    private final Operation[] ops;
+    private final int[] cumulativeWeights;
+    private final long measureFromNanos;
+    private final long endNanos;
+    private final SplittableRandom random;
+    private final int customer;
+    
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+    private String catalogEtag;
+    private long retryAfterSeconds;
+    
+    public VirtualUser(HttpClient client, String baseUrl, Seeder.SeedData data, ZipfSampler popularity,
+                       Map<Operation, Integer> mix, long measureFromNanos, long endNanos, long seed) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.data = data;
+        this.popularity = popularity;
+        this.measureFromNanos = measureFromNanos;
+        this.endNanos = endNanos;
+        this.random = new SplittableRandom(seed);
+        this.customer = random.nextInt(data.customerCount());
+        this.ops = mix.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[ops.length];
+        int sum = 0;
+        for (int i = 0; i < ops.length; i++) {
+            sum += mix.get(ops[i]);
+            cumulativeWeights[i] = sum;
+            latencies.put(ops[i], new Histogram(MAX_LATENCY_MICROS, 3));
+            errors.put(ops[i], 0L);
+        }
+    }
+    
+    @Override
+    public void run() {
+        long now;
+        while ((now = System.nanoTime()) < endNanos) {
+            Operation op = pick();
+            boolean ok;
+            long start = System.nanoTime();
+            try {
+                ok = execute(op);
+            } catch (Exception ex) {
+                ok = false;
+            }
+            long micros = (System.nanoTime() - start) / 1_000;
+            if (now >= measureFromNanos) {
+                latencies.get(op).recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+                if (!ok) {
+                    errors.merge(op, 1L, Long::sum);
+                }
+            }
+            backOff();
+        }
+    }
+    
+    public Map<Operation, Histogram> getLatencies() { return latencies; }
+    
+    public Map<Operation, Long> getErrors() { return errors; }
+    
+    private Operation pick() {
+        int r = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < ops.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return ops[i];
+            }
+        }
+        return ops[ops.length - 1];
+    }
+    
+    private boolean execute(Operation op) throws Exception {
+        switch (op) {
+            case LOGIN:
+                return post("/api/users/login", "{\"email\":\"" + data.customerEmail(customer)
+                        + "\",\"password\":\"" + Seeder.PASSWORD + "\"}");
+            case CATALOG: {
+                // tarayıcı gibi: önceki ETag ile koşullu istek
+                HttpRequest.Builder request = get("/api/products");
+                if (catalogEtag != null) {
+                    request.header("If-None-Match", catalogEtag);
+                }
+                HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+                response.headers().firstValue("ETag").ifPresent(etag -> catalogEtag = etag);
+                return response.statusCode() == 200 || response.statusCode() == 304;
+            }
+            case CATALOG_PAGE:
+                return send(get("/api/products?limit=50&after=" + (data.productId(popularity.next(random)) - 1)));
+            case PRODUCT_DETAIL:
+                return send(get("/api/products/" + data.productId(popularity.next(random))));
+            case SEARCH:
+                return send(get("/api/products/search?limit=20&keyword="
+                        + data.searchTerm(random.nextInt(data.searchTermCount())).replace(" ", "+")));
+            case CART_ADD:
+                return post("/api/cart/add", "{\"userId\":" + data.customerId(customer) + ",\"productId\":"
+                        + data.productId(popularity.next(random)) + ",\"quantity\":1}");
+            case ORDER:
+                return post("/api/orders", orderBody());
+            default:
+                throw new IllegalStateException(op.name());
+        }
+    }
+    
+    private String orderBody() {
+        int lines = 1 + random.nextInt(3);
+        StringBuilder items = new StringBuilder();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            int rank = popularity.next(random);
+            if (i > 0) {
+                items.append(',');
+            }
+            items.append("{\"productId\":").append(data.productId(rank)).append(",\"quantity\":1}");
+            total = total.add(data.price(rank));
+        }
+        return "{\"userId\":" + data.customerId(customer) + ",\"totalAmount\":" + total.toPlainString()
+                + ",\"shippingAddress\":\"İstanbul Merkez\",\"items\":[" + items + "]}";
+    }
+    
+    private HttpRequest.Builder get(String path) {
+        return request(path).GET();
+    }
+    
+    private boolean post(String path, String json) throws Exception {
+        return send(request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)));
+    }
+    
+    // sunucudaki kabul kontrolü istemciyi uzak adresle tanır; tümü aynı adresten geldiği için her
+    // alıcı kendi adresini X-Forwarded-For ile bildirir (LoadTest forward-headers-strategy=native açar)
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("X-Forwarded-For", "10." + (customer >> 16 & 0xFF) + "." + (customer >> 8 & 0xFF) + "." + (customer & 0xFF));
+    }
+    
+    private boolean send(HttpRequest.Builder request) throws Exception {
+        HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        int status = response.statusCode();
+        if (status == 429 || status == 503) {
+            retryAfterSeconds = response.headers().firstValueAsLong("Retry-After").orElse(0);
+        }
+        return status >= 200 && status < 300;
+    }
+    
+    // 429/503 alan gerçek istemci gibi Retry-After kadar bekler; bekleme gecikmeye yazılmaz
+    private void backOff() {
+        if (retryAfterSeconds <= 0) {
+            return;
+        }
+        long sleepNanos = Math.min(retryAfterSeconds * 1_000_000_000L, endNanos - System.nanoTime());
+        retryAfterSeconds = 0;
+        if (sleepNanos > 0) {
+            try {
+                Thread.sleep(sleepNanos / 1_000_000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.techmarket.loadtest;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * 0..n-1 aralığında Zipf dağılımlı sıra üretir: k. eleman 1/(k+1)^s ile orantılı seçilir.
+ * Birikimli dağılım bir kez hesaplanır, örnekleme ikili aramadır. s = 0 düzgün dağılımdır.
+ */
+public class ZipfSampler {
+    private final double[] cdf;
+    
+    public ZipfSampler(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be positive");
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+    }
+    
+    public int next(RandomGenerator random) {
+        int i = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(i >= 0 ? i : -i - 1, cdf.length - 1);
+    }
+}
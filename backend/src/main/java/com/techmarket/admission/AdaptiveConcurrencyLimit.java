@@ -0,0 +1,81 @@
+package com.techmarket.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aynı anda işlenen istek sayısı için kilitsiz, AIMD ile ayarlanan üst sınır.
+ *
+ * Tamamlanan istekler SQL süresini ve statement sayısını bildirir. Her aralıkta bir kez
+ * (aralığı CAS ile kazanan istek) ortalama statement süresine bakılır: hedefin üzerindeyse
+ * sınır çarpımsal olarak düşer, altındaysa ve aralıkta sınıra dayanıldıysa bir artar.
+ */
+final class AdaptiveConcurrencyLimit {
+    // Gecikme hedefi aşıldığında sınır bu oranla çarpılır
+    private static final double DECREASE_FACTOR = 0.75;
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetNanos;
+    private final long intervalNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder sqlNanos = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final AtomicLong nextAdjustment;
+    private volatile int limit;
+    private volatile boolean saturated;
+    
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long targetNanos, long intervalNanos) {
+        this.minLimit = Math.max(1, Math.min(minLimit, maxLimit));
+        this.maxLimit = Math.max(maxLimit, this.minLimit);
+        this.targetNanos = targetNanos;
+        this.intervalNanos = intervalNanos;
+        this.limit = Math.max(this.minLimit, Math.min(initialLimit, this.maxLimit));
+        this.nextAdjustment = new AtomicLong(System.nanoTime() + intervalNanos);
+    }
+    
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                saturated = true;
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    void release() {
+        inFlight.decrementAndGet();
+    }
+    
+    void record(long nanos, int count, long now) {
+        if (count > 0) {
+            sqlNanos.add(nanos);
+            statements.add(count);
+        }
+        long next = nextAdjustment.get();
+        if (now - next < 0 || !nextAdjustment.compareAndSet(next, now + intervalNanos)) {
+            return;
+        }
+        long observed = statements.sumThenReset();
+        long total = sqlNanos.sumThenReset();
+        if (observed > 0 && total / observed > targetNanos) {
+            limit = Math.max(minLimit, (int) (limit * DECREASE_FACTOR));
+        } else if (saturated) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        saturated = false;
+    }
+    
+    int limit() {
+        return limit;
+    }
+    
+    int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,215 @@
+package com.techmarket.admission;
+
+import com.techmarket.jdbc.CountingDataSourcePostProcessor;
+import com.techmarket.jdbc.SqlStatementCounter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sepet ve sipariş uçlarının önündeki kabul kontrolü (admission control).
+ *
+ * İki aşama, ikisi de kilitsiz ve beklemesiz:
+ * - İstemci başına token bucket (ClientRateLimiter): aşan istemci 429 ve Retry-After alır.
+ *   İstemci uzak adresle tanınır (proxy arkasında server.forward-headers-strategy ile gerçek
+ *   adres). X-User-Id kimlik doğrulaması olmayan bir beyan olduğundan anahtara girmez; yoksa
+ *   her istekte farklı bir değer göndererek sınır aşılabilir ve kova tablosu şişirilebilirdi.
+ *   Tablo max-clients ile sınırlıdır; doluyken yeni adresler ortak bir kovayı paylaşır.
+ * - Global eşzamanlılık sınırı (AdaptiveConcurrencyLimit): başlangıç değeri ConnectionGate'in
+ *   izin sayısıdır (havuz boyutu - ayrılmış bağlantılar); dolunca istek havuzda sıraya girmek
+ *   yerine hemen 503 ve Retry-After alır. Sınır, isteklerin ölçülen ortalama statement
+ *   süresine göre AIMD ile daralır; süre hedefin altındayken ve sınıra dayanıldıkça genişler.
+ *   İstek bağlantıyı süresinin yalnızca bir kısmında tuttuğu için varsayılan üst değer
+ *   başlangıcın dört katıdır.
+ *
+ * Async cevaplarda (NDJSON dışa aktarım) izin async işin bitişinde bırakılır.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Value("${techmarket.admission.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${techmarket.admission.paths:/api/cart/**,/api/orders/**}")
+    private List<String> paths;
+    
+    // Uzun ömürlü ve bağlantı tutmayan akışlar (SSE) eşzamanlılık iznini saatlerce işgal etmesin
+    @Value("${techmarket.admission.exclude-paths:/api/orders/seller/*/events}")
+    private List<String> excludePaths;
+    
+    @Value("${techmarket.admission.client-rate:20}")
+    private double clientRate;
+    
+    @Value("${techmarket.admission.client-burst:40}")
+    private int clientBurst;
+    
+    @Value("${techmarket.admission.max-clients:100000}")
+    private int maxClients;
+    
+    // 0: havuzdan türetilir
+    @Value("${techmarket.admission.initial-concurrency:0}")
+    private int initialConcurrency;
+    
+    // 0: başlangıç değerinin dört katı
+    @Value("${techmarket.admission.max-concurrency:0}")
+    private int maxConcurrency;
+    
+    @Value("${techmarket.admission.min-concurrency:2}")
+    private int minConcurrency;
+    
+    @Value("${techmarket.admission.statement-latency-target-ms:25}")
+    private long statementLatencyTargetMillis;
+    
+    @Value("${techmarket.admission.adjust-interval-ms:500}")
+    private long adjustIntervalMillis;
+    
+    @Value("${techmarket.jdbc.reserved-connections:2}")
+    private int reservedConnections;
+    
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private ClientRateLimiter rateLimiter;
+    private AdaptiveConcurrencyLimit concurrencyLimit;
+    private Counter rateLimited;
+    private Counter shed;
+    
+    @PostConstruct
+    void init() {
+        int initial = initialConcurrency > 0 ? initialConcurrency : Math.max(poolSize() - reservedConnections, 1);
+        int max = maxConcurrency > 0 ? maxConcurrency : initial * 4;
+        rateLimiter = new ClientRateLimiter(clientRate, clientBurst, maxClients);
+        concurrencyLimit = new AdaptiveConcurrencyLimit(initial, minConcurrency, max,
+                TimeUnit.MILLISECONDS.toNanos(statementLatencyTargetMillis),
+                TimeUnit.MILLISECONDS.toNanos(adjustIntervalMillis));
+        rateLimited = meterRegistry.counter("techmarket.admission.rejected", "reason", "rate");
+        shed = meterRegistry.counter("techmarket.admission.rejected", "reason", "concurrency");
+        Gauge.builder("techmarket.admission.limit", concurrencyLimit, AdaptiveConcurrencyLimit::limit)
+                .register(meterRegistry);
+        Gauge.builder("techmarket.admission.in-flight", concurrencyLimit, AdaptiveConcurrencyLimit::inFlight)
+                .register(meterRegistry);
+        Gauge.builder("techmarket.admission.clients", rateLimiter, ClientRateLimiter::size)
+                .register(meterRegistry);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String uri = request.getRequestURI();
+        for (String path : excludePaths) {
+            if (matcher.match(path, uri)) {
+                return true;
+            }
+        }
+        for (String path : paths) {
+            if (matcher.match(path, uri)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long wait = rateLimiter.tryAcquire(request.getRemoteAddr(), System.nanoTime());
+        if (wait > 0) {
+            rateLimited.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, TimeUnit.NANOSECONDS.toSeconds(wait) + 1,
+                    "Too many requests");
+            return;
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Server is busy, retry later");
+            return;
+        }
+        boolean async = false;
+        SqlStatementCounter.Scope statements = SqlStatementCounter.open();
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                async = true;
+                request.getAsyncContext().addListener(new AsyncRelease());
+            }
+        } finally {
+            statements.close();
+            concurrencyLimit.record(statements.nanos(), statements.count(), System.nanoTime());
+            if (!async) {
+                concurrencyLimit.release();
+            }
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${techmarket.admission.sweep-interval-ms:60000}")
+    public void sweepIdleClients() {
+        rateLimiter.sweep(System.nanoTime());
+    }
+    
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+    
+    private int poolSize() {
+        try {
+            return CountingDataSourcePostProcessor.maximumPoolSize(dataSource.unwrap(HikariDataSource.class));
+        } catch (SQLException ex) {
+            return 10;
+        }
+    }
+    
+    private final class AsyncRelease implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            concurrencyLimit.release();
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
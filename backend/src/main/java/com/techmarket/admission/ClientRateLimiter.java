@@ -0,0 +1,56 @@
+package com.techmarket.admission;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * İstemci başına kilitsiz token bucket. Kova, GCRA biçiminde tek bir AtomicLong ile tutulur:
+ * değer "teorik sonraki varış zamanı"dır (nanoTime). İzin vermek bu değeri tek bir CAS ile
+ * bir aralık ileri iter; saniyede rate istek, burst kadar ani yük kabul edilir.
+ *
+ * Tablo en fazla maxClients kova tutar; doluyken tanınmayan istemciler sweep yer açana
+ * kadar tek bir ortak kovayı paylaşır (bellek sınırlı kalır, yeni istemciler sınırsız geçmez).
+ */
+final class ClientRateLimiter {
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int maxClients;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow = new AtomicLong(System.nanoTime());
+    
+    ClientRateLimiter(double ratePerSecond, int burst, int maxClients) {
+        intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        toleranceNanos = intervalNanos * Math.max(burst - 1, 0);
+        this.maxClients = maxClients;
+    }
+    
+    /** 0 ise istek kabul edildi; değilse bir sonraki token için beklenmesi gereken nanosaniye. */
+    long tryAcquire(String client, long now) {
+        AtomicLong arrival = buckets.get(client);
+        if (arrival == null) {
+            // sınır yarışta birkaç kova aşılabilir; önemli olan tablonun sınırsız büyümemesi
+            arrival = buckets.size() < maxClients ? buckets.computeIfAbsent(client, k -> new AtomicLong(now)) : overflow;
+        }
+        while (true) {
+            long current = arrival.get();
+            long base = Math.max(current, now);
+            long wait = base - toleranceNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, base + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+    
+    // Dolu kovalar (teorik varış zamanı geçmiş) yeni bir kovadan farksızdır; çıkarılabilir
+    void sweep(long now) {
+        buckets.values().removeIf(arrival -> arrival.get() <= now);
+    }
+    
+    int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,256 @@
+package com.techmarket.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techmarket.dto.ProductListing;
+import com.techmarket.model.Category;
+import com.techmarket.model.Product;
+import com.techmarket.model.User;
+import com.techmarket.repository.CategoryRepository;
+import com.techmarket.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * GET /api/products ve GET /api/categories için süreç içi katalog önbelleği.
+ *
+ * Okumalar yalnızca volatile snapshot referansını okur; veritabanına, bağlantı havuzuna
+ * ve Jackson'a dokunmaz. Yazmalar (ürün/kategori/satıcı güncellemeleri) yeni bir snapshot
+ * kurup yayınlar ve birbirleriyle sıralanır. Siparişlerin stok düşümleri okuma yolunu
+ * yavaşlatmamak için hemen uygulanmaz; ürünler "stale" işaretlenir ve periyodik olarak
+ * tek sorguyla yenilenir.
+ *
+ * Yazmalar synchronized yerine ReentrantLock ile sıralanır: kilit altında veritabanı okuması
+ * yapıldığı için, virtual thread modunda synchronized taşıyıcı thread'i (carrier) sabitlerdi.
+ */
+@Component
+public class CatalogCache {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogCache.class);
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    // Yeniden başlatmadan sonra eski ETag'lerin yeni içerikle eşleşmemesi için
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+    private final Set<Long> stale = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile CatalogSnapshot snapshot;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            Draft draft = new Draft();
+            for (Product product : productRepository.findByIsActiveTrueOrderByProductIdAsc()) {
+                draft.apply(product.getProductId(), product);
+            }
+            draft.categoriesJson = serialize(categoryRepository.findAll());
+            publish(draft);
+            logger.info("Catalog snapshot built: {} products, etag {}", snapshot.size(), snapshot.getEtag());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /** Henüz kurulmadıysa null; çağıran veritabanından okumaya düşmelidir. */
+    public CatalogSnapshot current() {
+        return snapshot;
+    }
+    
+    /** Kaydedilmiş ürünü (satıcı ve kategorisiyle) snapshot'a uygular. */
+    public void productChanged(Product product) {
+        writeLock.lock();
+        try {
+            CatalogSnapshot current = snapshot;
+            if (current == null) {
+                return;
+            }
+            Draft draft = new Draft(current);
+            draft.apply(product.getProductId(), product);
+            publish(draft);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /** Sadece kategori listesi değişti (ekleme/silme); ürün parçaları aynen kalır. */
+    public void categoriesChanged() {
+        writeLock.lock();
+        try {
+            CatalogSnapshot current = snapshot;
+            if (current == null) {
+                return;
+            }
+            Draft draft = new Draft(current);
+            draft.categoriesJson = serialize(categoryRepository.findAll());
+            publish(draft);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /** Kategori adı/açıklaması ürün JSON'una gömülü olduğu için tam yeniden kurulum gerekir. */
+    public void categoryUpdated() {
+        if (snapshot != null) {
+            rebuild();
+        }
+    }
+    
+    /** Satıcı bilgileri ürün JSON'una gömülü; satıcının ürünleri yenilenir. */
+    public void sellerChanged(Long sellerId) {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>();
+        for (ProductListing.Item item : current.items()) {
+            if (item.getSellerId().equals(sellerId)) {
+                ids.add(item.getProductId());
+            }
+        }
+        refresh(ids);
+    }
+    
+    /** Sipariş gibi stok değiştiren yazmalardan sonra çağrılır; yenileme zamanlayıcıya kalır. */
+    public void stockChanged(Collection<Long> productIds) {
+        stale.addAll(productIds);
+    }
+    
+    @Scheduled(fixedDelayString = "${techmarket.catalog.refresh-interval-ms:1000}")
+    public void refreshStale() {
+        if (stale.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>(stale);
+        stale.removeAll(ids);
+        try {
+            refresh(ids);
+        } catch (RuntimeException ex) {
+            stale.addAll(ids);
+            logger.error("Catalog refresh failed for products {}", ids, ex);
+        }
+    }
+    
+    private void refresh(Collection<Long> productIds) {
+        writeLock.lock();
+        try {
+            CatalogSnapshot current = snapshot;
+            if (current == null || productIds.isEmpty()) {
+                return;
+            }
+            Map<Long, Product> loaded = new HashMap<>();
+            for (Product product : productRepository.findByProductIdIn(productIds)) {
+                loaded.put(product.getProductId(), product);
+            }
+            Draft draft = new Draft(current);
+            for (Long id : productIds) {
+                draft.apply(id, loaded.get(id));
+            }
+            publish(draft);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    private void publish(Draft draft) {
+        String etag = "\"" + epoch + "-" + version.incrementAndGet() + "\"";
+        snapshot = new CatalogSnapshot(etag, draft.segments(), draft.sellers, draft.categories, draft.categoriesJson);
+    }
+    
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    // Yayınlanacak snapshot'ın taslağı; yalnızca writeLock altında kullanılır. Yalnızca
+    // dokunulan segmentler kopyalanır, diğerleri önceki snapshot'tan olduğu gibi alınır.
+    private final class Draft {
+        final NavigableMap<Long, CatalogSnapshot.Segment> base;
+        final Map<Long, NavigableMap<Long, byte[]>> dirtyProducts = new HashMap<>();
+        final Map<Long, NavigableMap<Long, ProductListing.Item>> dirtyItems = new HashMap<>();
+        final Map<Long, ProductListing.SellerRef> sellers;
+        final Map<Long, ProductListing.CategoryRef> categories;
+        byte[] categoriesJson;
+        
+        Draft() {
+            base = new TreeMap<>();
+            sellers = new HashMap<>();
+            categories = new HashMap<>();
+        }
+        
+        Draft(CatalogSnapshot current) {
+            base = current.segments();
+            sellers = current.sellers();
+            categories = current.categories();
+            categoriesJson = current.getCategoriesJson();
+        }
+        
+        // product null ya da pasifse katalogdan çıkarılır
+        void apply(Long id, Product product) {
+            Long key = CatalogSnapshot.segmentOf(id);
+            NavigableMap<Long, byte[]> products = dirtyProducts.get(key);
+            NavigableMap<Long, ProductListing.Item> items = dirtyItems.get(key);
+            if (products == null) {
+                CatalogSnapshot.Segment segment = base.get(key);
+                products = segment == null ? new TreeMap<>() : new TreeMap<>(segment.products);
+                items = segment == null ? new TreeMap<>() : new TreeMap<>(segment.items);
+                dirtyProducts.put(key, products);
+                dirtyItems.put(key, items);
+            }
+            if (product == null || !Boolean.TRUE.equals(product.getIsActive())) {
+                products.remove(id);
+                items.remove(id);
+                return;
+            }
+            products.put(id, serialize(product));
+            items.put(id, new ProductListing.Item(product));
+            User seller = product.getSeller();
+            sellers.put(seller.getUserId(),
+                    new ProductListing.SellerRef(seller.getUserId(), seller.getFirstName(), seller.getLastName()));
+            Category category = product.getCategory();
+            categories.put(category.getCategoryId(),
+                    new ProductListing.CategoryRef(category.getCategoryId(), category.getName()));
+        }
+        
+        // Segment referanslarının kopyası; yalnızca değişen segmentler yeniden birleştirilir
+        NavigableMap<Long, CatalogSnapshot.Segment> segments() {
+            NavigableMap<Long, CatalogSnapshot.Segment> segments = new TreeMap<>(base);
+            dirtyProducts.forEach((key, products) -> {
+                if (products.isEmpty()) {
+                    segments.remove(key);
+                } else {
+                    segments.put(key, new CatalogSnapshot.Segment(products, dirtyItems.get(key)));
+                }
+            });
+            return segments;
+        }
+    }
+}
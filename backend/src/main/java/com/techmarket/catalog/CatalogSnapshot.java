@@ -0,0 +1,231 @@
+package com.techmarket.catalog;
+
+import com.techmarket.dto.ProductListing;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Kataloğun değişmez, JSON'a önceden serileştirilmiş hali.
+ *
+ * Her ürün ayrı bir JSON parçası olarak tutulur; parçalar ürün id'sine göre SEGMENT_SIZE'lık
+ * aralıklara (segment) bölünür ve her segment kendi parçalarını bir kez birleştirir. Bir ürün
+ * değiştiğinde yalnızca o parça yeniden serileştirilir ve yalnızca içinde bulunduğu segment
+ * yeniden kurulur; diğer segmentler önceki snapshot'la paylaşılır. Liste gövdesi kopyalanmaz,
+ * segmentlerin sırayla yazılmasıdır. ETag snapshot'ın sürümüdür; sürüm her yayında artar.
+ */
+public final class CatalogSnapshot {
+    static final int SEGMENT_SIZE = 1024;
+    
+    private final String etag;
+    private final NavigableMap<Long, Segment> segments;
+    private final Map<Long, ProductListing.SellerRef> sellers;
+    private final Map<Long, ProductListing.CategoryRef> categories;
+    private final Resource productsJson;
+    private final byte[] categoriesJson;
+    private volatile ProductListing compact;
+    
+    CatalogSnapshot(String etag, NavigableMap<Long, Segment> segments,
+                    Map<Long, ProductListing.SellerRef> sellers, Map<Long, ProductListing.CategoryRef> categories,
+                    byte[] categoriesJson) {
+        this.etag = etag;
+        this.segments = Collections.unmodifiableNavigableMap(segments);
+        this.sellers = Collections.unmodifiableMap(sellers);
+        this.categories = Collections.unmodifiableMap(categories);
+        this.productsJson = new SegmentedJson(segments.values());
+        this.categoriesJson = categoriesJson;
+    }
+    
+    static long segmentOf(Long productId) {
+        return Math.floorDiv(productId, SEGMENT_SIZE);
+    }
+    
+    public String getEtag() { return etag; }
+    
+    public Resource getProductsJson() { return productsJson; }
+    
+    public byte[] getCategoriesJson() { return categoriesJson; }
+    
+    /** Ürün listesinin kompakt hali; snapshot başına ilk istekte bir kez kurulur. */
+    public ProductListing getCompactListing() {
+        ProductListing listing = compact;
+        if (listing == null) {
+            listing = ProductListing.of(items(), sellers, categories);
+            compact = listing;
+        }
+        return listing;
+    }
+    
+    /**
+     * If-None-Match başlığı bu snapshot'ı gösteriyor mu. Virgülle ayrılmış listeler,
+     * "*" ve zayıf (W/) etiketler kabul edilir.
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String t = tag.trim();
+            if (t.startsWith("W/")) {
+                t = t.substring(2);
+            }
+            if (t.equals("*") || t.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /** Eşleşen If-None-Match için gövdesiz 304, aksi halde önceden serileştirilmiş gövde. */
+    public ResponseEntity<byte[]> respond(byte[] body, String ifNoneMatch) {
+        return respondJson(body, ifNoneMatch);
+    }
+    
+    /** Segmentli ürün listesi; gövde birleştirilmeden, segment segment yazılır. */
+    public ResponseEntity<Resource> respond(Resource body, String ifNoneMatch) {
+        return respondJson(body, ifNoneMatch);
+    }
+    
+    /**
+     * Gövde içerik anlaşmasıyla (JSON/CBOR) serileştirilir; iki kodlama aynı ETag'i
+     * taşıdığından önbellekler Accept'e göre ayırmalıdır.
+     */
+    public <T> ResponseEntity<T> respond(T body, String ifNoneMatch) {
+        if (matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT)
+                    .cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).cacheControl(CacheControl.noCache()).body(body);
+    }
+    
+    int size() {
+        int size = 0;
+        for (Segment segment : segments.values()) {
+            size += segment.items.size();
+        }
+        return size;
+    }
+    
+    // Değiştirilmez; CatalogCache yeni segmentleri bu haritanın bir kopyasına koyar
+    NavigableMap<Long, Segment> segments() { return segments; }
+    
+    List<ProductListing.Item> items() {
+        List<ProductListing.Item> items = new ArrayList<>(size());
+        for (Segment segment : segments.values()) {
+            items.addAll(segment.items.values());
+        }
+        return items;
+    }
+    
+    Map<Long, ProductListing.SellerRef> sellers() { return new HashMap<>(sellers); }
+    
+    Map<Long, ProductListing.CategoryRef> categories() { return new HashMap<>(categories); }
+    
+    private <B> ResponseEntity<B> respondJson(B body, String ifNoneMatch) {
+        if (matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+    
+    /**
+     * Bir id aralığının ürünleri ve virgülle birleştirilmiş JSON parçaları (köşeli parantezsiz).
+     * Değiştirilmez; snapshot'lar arasında paylaşılır.
+     */
+    static final class Segment {
+        final NavigableMap<Long, byte[]> products;
+        final NavigableMap<Long, ProductListing.Item> items;
+        final byte[] json;
+        
+        Segment(NavigableMap<Long, byte[]> products, NavigableMap<Long, ProductListing.Item> items) {
+            this.products = Collections.unmodifiableNavigableMap(products);
+            this.items = Collections.unmodifiableNavigableMap(items);
+            this.json = join(products);
+        }
+        
+        private static byte[] join(NavigableMap<Long, byte[]> products) {
+            int size = Math.max(products.size() - 1, 0);
+            for (byte[] fragment : products.values()) {
+                size += fragment.length;
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+            boolean first = true;
+            for (byte[] fragment : products.values()) {
+                if (!first) {
+                    out.write(',');
+                }
+                out.writeBytes(fragment);
+                first = false;
+            }
+            return out.toByteArray();
+        }
+    }
+    
+    // '[' segment ',' segment ... ']' dizisi; her okuma için yeni bir akış açılır, uzunluk önceden bilinir
+    private static final class SegmentedJson extends AbstractResource {
+        private static final byte[] OPEN = {'['};
+        private static final byte[] SEPARATOR = {','};
+        private static final byte[] CLOSE = {']'};
+        
+        private final List<byte[]> parts = new ArrayList<>();
+        private final long length;
+        
+        SegmentedJson(Iterable<Segment> segments) {
+            long total = 0;
+            parts.add(OPEN);
+            for (Segment segment : segments) {
+                if (parts.size() > 1) {
+                    parts.add(SEPARATOR);
+                }
+                parts.add(segment.json);
+            }
+            parts.add(CLOSE);
+            for (byte[] part : parts) {
+                total += part.length;
+            }
+            length = total;
+        }
+        
+        @Override
+        public InputStream getInputStream() {
+            List<InputStream> streams = new ArrayList<>(parts.size());
+            for (byte[] part : parts) {
+                streams.add(new ByteArrayInputStream(part));
+            }
+            return new SequenceInputStream(Collections.enumeration(streams));
+        }
+        
+        @Override
+        public long contentLength() {
+            return length;
+        }
+        
+        @Override
+        public boolean exists() {
+            return true;
+        }
+        
+        @Override
+        public String getDescription() {
+            return "catalog products JSON";
+        }
+    }
+}
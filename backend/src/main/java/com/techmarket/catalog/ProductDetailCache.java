@@ -0,0 +1,152 @@
+package com.techmarket.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techmarket.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GET /api/products/{id} için tek uçuşlu (single-flight) önbellek.
+ *
+ * Aynı ürün için eşzamanlı ıskalamalar tek bir veritabanı okumasını paylaşır: ilk istek
+ * yükler, diğerleri onun future'ını bekler. Sonuç JSON bayt olarak saklanır; önbellek
+ * toplam bayt ile sınırlıdır (en eski eklenen önce çıkar) ve kayıtlar TTL sonunda düşer.
+ * Güncelleme/silme invalidate() çağırır; o sırada süren bir yükleme sonucunu önbelleğe yazmaz.
+ */
+@Component
+public class ProductDetailCache {
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${techmarket.product-cache.max-bytes:16777216}")
+    private long maxBytes;
+    
+    @Value("${techmarket.product-cache.ttl-ms:5000}")
+    private long ttlMillis;
+    
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<Optional<byte[]>>> inFlight = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicLong bytes = new AtomicLong();
+    
+    private Counter hits;
+    private Counter misses;
+    private Counter coalesced;
+    
+    @PostConstruct
+    void registerMetrics() {
+        hits = meterRegistry.counter("techmarket.product.cache", "result", "hit");
+        misses = meterRegistry.counter("techmarket.product.cache", "result", "miss");
+        coalesced = meterRegistry.counter("techmarket.product.cache", "result", "coalesced");
+        Gauge.builder("techmarket.product.cache.size", entries, Map::size).register(meterRegistry);
+        Gauge.builder("techmarket.product.cache.bytes", bytes, AtomicLong::get).register(meterRegistry);
+    }
+    
+    /** Ürünün JSON'u; ürün yoksa boş. Olmayan ürünler önbelleğe alınmaz. */
+    public Optional<byte[]> get(Long productId) {
+        Entry entry = entries.get(productId);
+        if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+            hits.increment();
+            return Optional.of(entry.json);
+        }
+        CompletableFuture<Optional<byte[]>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<byte[]>> running = inFlight.putIfAbsent(productId, mine);
+        if (running != null) {
+            coalesced.increment();
+            try {
+                return running.join();
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException re ? re : ex;
+            }
+        }
+        misses.increment();
+        try {
+            Optional<byte[]> json = productRepository.findById(productId).map(this::serialize);
+            // invalidate() yükleme sürerken geldiyse future haritadan çıkarılmıştır; sonucu saklama
+            if (json.isPresent() && inFlight.get(productId) == mine) {
+                put(productId, json.get());
+            }
+            mine.complete(json);
+            return json;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(productId, mine);
+        }
+    }
+    
+    public void invalidate(Long productId) {
+        inFlight.remove(productId);
+        Entry removed = entries.remove(productId);
+        if (removed != null) {
+            bytes.addAndGet(-removed.json.length);
+        }
+    }
+    
+    private void put(Long productId, byte[] json) {
+        Entry entry = new Entry(productId, json, System.currentTimeMillis() + ttlMillis);
+        Entry previous = entries.put(productId, entry);
+        if (previous != null) {
+            bytes.addAndGet(-previous.json.length);
+        }
+        bytes.addAndGet(json.length);
+        insertionOrder.add(entry);
+        evict();
+    }
+    
+    // Kuyruk ekleme sırasında ve TTL herkes için aynı, yani süresi dolanlar hep baştadır.
+    // Kuyrukta yerine yenisi konmuş ya da silinmiş kayıtlar da kalabilir; bunlar sayılmaz.
+    private void evict() {
+        long now = System.currentTimeMillis();
+        Entry head;
+        while ((head = insertionOrder.peek()) != null
+                && (bytes.get() > maxBytes || head.expiresAt <= now || entries.get(head.productId) != head)) {
+            insertionOrder.remove(head);
+            if (entries.remove(head.productId, head)) {
+                bytes.addAndGet(-head.json.length);
+            }
+        }
+    }
+    
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    private static final class Entry {
+        final Long productId;
+        final byte[] json;
+        final long expiresAt;
+        
+        Entry(Long productId, byte[] json, long expiresAt) {
+            this.productId = productId;
+            this.json = json;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.techmarket.controller;
 
+import com.techmarket.dto.CartView;
+import com.techmarket.metrics.ShopMetrics;
 import com.techmarket.model.*;
 import com.techmarket.repository.*;
+import com.techmarket.service.CartMutationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -25,6 +30,12 @@ public class CartController {
     @Autowired
     private ProductRepository productRepository;
     
+    @Autowired
+    private ShopMetrics shopMetrics;
+    
+    @Autowired
+    private CartMutationService cartMutationService;
+    
     @GetMapping("/user/{userId}")
     public ResponseEntity<Cart> getCartByUserId(@PathVariable Long userId) {
         Optional<Cart> cart = cartRepository.findByUser_UserId(userId);
@@ -79,9 +90,41 @@ public class CartController {
                             cart.setUpdatedAt(LocalDateTime.now());
                             cartRepository.save(cart);
                             
+                            shopMetrics.cartAdded();
                             return ResponseEntity.ok("Ürün sepete eklendi");
                         }))
-                .orElse(ResponseEntity.badRequest().body("Kullanıcı veya ürün bulunamadı"));
+                .orElseGet(() -> {
+                    shopMetrics.cartAddRejected();
+                    return ResponseEntity.badRequest().body("Kullanıcı veya ürün bulunamadı");
+                });
+    }
+    
+    /**
+     * Sepete toplu ekle/ayarla/çıkar; işlemler tek transaction'da ve işlem sayısından
+     * bağımsız sabit sayıda statement ile uygulanır. Güncel sepet içeriğini döner.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> applyCartOperations(@RequestBody CartBatchRequest request) {
+        if (request == null || request.getOperations() == null) {
+            return ResponseEntity.badRequest().body("At least one operation is required");
+        }
+        List<CartMutationService.Operation> operations = new ArrayList<>(request.getOperations().size());
+        int added = 0;
+        for (CartOperationRequest op : request.getOperations()) {
+            CartMutationService.Type type = op == null ? null : CartOperationRequest.type(op.getOp());
+            operations.add(type == null ? null : new CartMutationService.Operation(type, op.getProductId(), op.getQuantity()));
+            if (type == CartMutationService.Type.ADD) {
+                added++;
+            }
+        }
+        try {
+            CartView cart = cartMutationService.apply(request.getUserId(), operations);
+            shopMetrics.cartAdded(added);
+            return ResponseEntity.ok(cart);
+        } catch (IllegalArgumentException ex) {
+            shopMetrics.cartAddRejected();
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
     }
     
     @PutMapping("/update")
@@ -160,4 +203,42 @@ class UpdateCartItemRequest {
     
     public Integer getQuantity() { return quantity; }
     public void setQuantity(Integer quantity) { this.quantity = quantity; }
-}
\ No newline at end of file
+}
+
+class CartBatchRequest {
+    private Long userId;
+    private List<CartOperationRequest> operations;
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public List<CartOperationRequest> getOperations() { return operations; }
+    public void setOperations(List<CartOperationRequest> operations) { this.operations = operations; }
+}
+
+class CartOperationRequest {
+    private String op;
+    private Long productId;
+    private Integer quantity;
+    
+    // "add", "set", "remove"; bilinmeyen değer geçersiz işlem sayılır
+    static CartMutationService.Type type(String op) {
+        if (op == null) {
+            return null;
+        }
+        try {
+            return CartMutationService.Type.valueOf(op.trim().toUpperCase(java.util.Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+    
+    public String getOp() { return op; }
+    public void setOp(String op) { this.op = op; }
+    
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+    
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+}
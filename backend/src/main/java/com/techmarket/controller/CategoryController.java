@@ -1,11 +1,13 @@
 package com.techmarket.controller;
 
+import com.techmarket.catalog.CatalogCache;
+import com.techmarket.catalog.CatalogSnapshot;
 import com.techmarket.model.Category;
 import com.techmarket.repository.CategoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -15,9 +17,17 @@ public class CategoryController {
     @Autowired
     private CategoryRepository categoryRepository;
     
+    @Autowired
+    private CatalogCache catalogCache;
+    
     @GetMapping
-    public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+    public ResponseEntity<?> getAllCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CatalogSnapshot catalog = catalogCache.current();
+        if (catalog == null) {
+            return ResponseEntity.ok(categoryRepository.findAll());
+        }
+        return catalog.respond(catalog.getCategoriesJson(), ifNoneMatch);
     }
     
     @GetMapping("/{id}")
@@ -34,6 +44,7 @@ public class CategoryController {
                     .body("Bu kategori ismi zaten kullanılıyor");
         }
         Category saved = categoryRepository.save(category);
+        catalogCache.categoriesChanged();
         return ResponseEntity.ok(saved);
     }
     
@@ -43,7 +54,9 @@ public class CategoryController {
                 .map(category -> {
                     category.setName(categoryDetails.getName());
                     category.setDescription(categoryDetails.getDescription());
-                    return ResponseEntity.ok(categoryRepository.save(category));
+                    Category saved = categoryRepository.save(category);
+                    catalogCache.categoryUpdated();
+                    return ResponseEntity.ok(saved);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -54,6 +67,7 @@ public class CategoryController {
             return ResponseEntity.notFound().build();
         }
         categoryRepository.deleteById(id);
+        catalogCache.categoriesChanged();
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -1,40 +1,165 @@
 package com.techmarket.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techmarket.catalog.CatalogCache;
+import com.techmarket.dto.CursorPage;
+import com.techmarket.dto.OrderView;
+import com.techmarket.events.SellerOrderEvents;
+import com.techmarket.metrics.ShopMetrics;
 import com.techmarket.model.*;
+import com.techmarket.jdbc.SqlStatementCounter;
 import com.techmarket.repository.*;
+import com.techmarket.search.ProductSuggestIndex;
+import com.techmarket.service.IdempotencyStore;
+import com.techmarket.service.InsufficientStockException;
+import com.techmarket.service.OrderExportService;
+import com.techmarket.service.OrderPlacementService;
+import com.techmarket.service.OrderQueryService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import jakarta.transaction.Transactional;
+import jakarta.annotation.PostConstruct;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/orders")
 @CrossOrigin(origins = "http://localhost:3000")
 public class OrderController {
     private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+    
     @Autowired
     private OrderRepository orderRepository;
     
     @Autowired
-    private UserRepository userRepository;
+    private SellerOrderRepository sellerOrderRepository;
+    
+    @Autowired
+    private OrderPlacementService orderPlacementService;
+    
+    @Autowired
+    private OrderQueryService orderQueryService;
+    
+    @Autowired
+    private OrderExportService orderExportService;
+    
+    @Autowired
+    private ProductSuggestIndex suggestIndex;
+    
+    @Autowired
+    private CatalogCache catalogCache;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private ShopMetrics shopMetrics;
+    
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+    
+    @Autowired
+    private SellerOrderEvents sellerOrderEvents;
     
     @Autowired
-    private ProductRepository productRepository;
+    private ObjectMapper objectMapper;
+    
+    private DistributionSummary statementsPerOrder;
+    private DistributionSummary linesPerOrder;
+    
+    @PostConstruct
+    void registerMetrics() {
+        statementsPerOrder = DistributionSummary.builder("techmarket.orders.statements")
+                .description("SQL statements (round trips) issued per created order")
+                .register(meterRegistry);
+        linesPerOrder = DistributionSummary.builder("techmarket.orders.lines")
+                .description("Distinct product lines per created order")
+                .register(meterRegistry);
+    }
     
     @GetMapping
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    public List<OrderView> getAllOrders() {
+        return orderQueryService.findAll();
     }
     
     @GetMapping("/seller/{sellerId}")
-    public List<Order> getOrdersBySeller(@PathVariable Long sellerId) {
-        return orderRepository.findOrdersBySellerId(sellerId);
+    public ResponseEntity<?> getOrdersBySeller(@PathVariable Long sellerId,
+                                               @RequestParam(required = false) String after,
+                                               @RequestParam(required = false) Integer limit) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(orderQueryService.findBySeller(sellerId, null, null, Limit.unlimited()));
+        }
+        LocalDateTime beforeDate = null;
+        Long beforeId = null;
+        if (after != null) {
+            // cursor "<orderDate>_<orderId>" biçimindedir, bkz. sellerCursor
+            int split = after.lastIndexOf('_');
+            try {
+                beforeDate = LocalDateTime.parse(after.substring(0, split));
+                beforeId = Long.valueOf(after.substring(split + 1));
+            } catch (RuntimeException ex) {
+                return ResponseEntity.badRequest().body("Invalid cursor");
+            }
+        }
+        int size = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        return ResponseEntity.ok(CursorPage.of(
+                orderQueryService.findBySeller(sellerId, beforeDate, beforeId, Limit.of(size + 1)),
+                size, OrderController::sellerCursor));
+    }
+    
+    /**
+     * Satıcı paneli için canlı akış (text/event-stream): order-created (satıcıya özel OrderView),
+     * order-status ({orderId, status, updatedAt}) ve tampon taştığında resync olayları.
+     * Bağlantı açıkken veritabanına gidilmez; ilk liste GET /seller/{sellerId} ile alınır.
+     */
+    @GetMapping(path = "/seller/{sellerId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter sellerEvents(@PathVariable Long sellerId) {
+        return sellerOrderEvents.subscribe(sellerId);
+    }
+    
+    /**
+     * Tüm sipariş geçmişini NDJSON olarak akıtır. from/to ISO tarih-saat, [from, to) aralığı;
+     * verilmezse sınırsız.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime start = from == null ? LocalDateTime.of(1970, 1, 1, 0, 0) : from;
+        LocalDateTime end = to == null ? LocalDateTime.of(9999, 12, 31, 0, 0) : to;
+        StreamingResponseBody body = out -> {
+            long count = orderExportService.export(start, end, out);
+            logger.debug("Exported {} orders between {} and {}", count, start, end);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.ndjson\"")
+                .body(body);
     }
     
     @GetMapping("/{id}")
@@ -45,81 +170,109 @@ public class OrderController {
     }
     
     @GetMapping("/user/{userId}")
-    public List<Order> getOrdersByUser(@PathVariable Long userId) {
-        return orderRepository.findByUser_UserIdOrderByOrderDateDesc(userId);
+    public List<OrderView> getOrdersByUser(@PathVariable Long userId) {
+        return orderQueryService.findByUser(userId);
     }
     
     @PostMapping
-    @Transactional
-    public ResponseEntity<?> createOrder(@RequestBody OrderRequest request) {
+    public ResponseEntity<?> createOrder(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                         @RequestBody OrderRequest request) {
+        if (request == null || request.getItems() == null || request.getItems().isEmpty()) {
+            shopMetrics.orderRejectedAsInvalid();
+            return ResponseEntity.badRequest().body("Order must contain at least one item");
+        }
+        List<OrderPlacementService.Line> lines = new ArrayList<>(request.getItems().size());
+        for (OrderItemRequest itemReq : request.getItems()) {
+            lines.add(itemReq == null ? null : new OrderPlacementService.Line(itemReq.getProductId(), itemReq.getQuantity()));
+        }
+        if (idempotencyKey == null) {
+            return place(() -> orderPlacementService.placeOrder(
+                    request.getUserId(), request.getTotalAmount(), request.getShippingAddress(), lines, null));
+        }
+        StringBuilder items = new StringBuilder();
+        for (OrderPlacementService.Line line : lines) {
+            items.append(line == null ? null : line.getProductId() + "x" + line.getQuantity()).append(',');
+        }
+        String fingerprint = IdempotencyStore.fingerprint("order", request.getUserId(), request.getTotalAmount(),
+                request.getShippingAddress(), items);
+        return idempotent(request.getUserId(), idempotencyKey, fingerprint, () -> place(() ->
+                orderPlacementService.placeOrder(request.getUserId(), request.getTotalAmount(),
+                        request.getShippingAddress(), lines, idempotencyKey)));
+    }
+    
+    /** Kayıtlı sepeti siparişe çevirir; gövde opsiyonel, adres yoksa kullanıcının adresi kullanılır. */
+    @PostMapping("/from-cart/{userId}")
+    public ResponseEntity<?> createOrderFromCart(@PathVariable Long userId,
+                                                 @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                 @RequestBody(required = false) CheckoutRequest request) {
+        String shippingAddress = request == null ? null : request.getShippingAddress();
+        if (idempotencyKey == null) {
+            return place(() -> orderPlacementService.placeOrderFromCart(userId, shippingAddress, null));
+        }
+        String fingerprint = IdempotencyStore.fingerprint("cart", userId, shippingAddress);
+        return idempotent(userId, idempotencyKey, fingerprint, () -> place(() ->
+                orderPlacementService.placeOrderFromCart(userId, shippingAddress, idempotencyKey)));
+    }
+    
+    /**
+     * Aynı (kullanıcı, anahtar) için ilk istek yürütülür; tekrarlar saklanan cevabı alır,
+     * eşzamanlı tekrarlar ilkini bekler. Depodan düşmüş ya da başka düğümde yazılmış
+     * siparişler idempotency_key sütunundan bulunur.
+     */
+    private ResponseEntity<?> idempotent(Long userId, String key, String fingerprint,
+                                         Supplier<ResponseEntity<?>> placement) {
+        if (key.isBlank() || key.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body("Idempotency-Key must be 1-" + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        IdempotencyStore.Result result = idempotencyStore.execute(userId + ":" + key, fingerprint, () -> {
+            Optional<Order> previous = orderRepository.findByUser_UserIdAndIdempotencyKey(userId, key);
+            if (previous.isPresent()) {
+                return IdempotencyStore.Result.json(HttpStatus.OK.value(), serialize(previous.get()));
+            }
+            ResponseEntity<?> response = placement.get();
+            Object body = response.getBody();
+            return body instanceof String text
+                    ? IdempotencyStore.Result.text(response.getStatusCode().value(), text)
+                    : IdempotencyStore.Result.json(response.getStatusCode().value(), serialize(body));
+        });
+        return ResponseEntity.status(result.getStatus())
+                .contentType(result.isJson() ? MediaType.APPLICATION_JSON : MediaType.TEXT_PLAIN)
+                .header(IDEMPOTENT_REPLAYED, Boolean.toString(result.isReplayed()))
+                .body(result.getBody());
+    }
+    
+    private byte[] serialize(Object value) {
         try {
-            if (request == null || request.getItems() == null || request.getItems().isEmpty()) {
-                return ResponseEntity.badRequest().body("Order must contain at least one item");
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    private ResponseEntity<?> place(Supplier<Order> placement) {
+        // the scope wraps the whole transaction so statements flushed at commit are counted too
+        try (SqlStatementCounter.Scope statements = SqlStatementCounter.open()) {
+            Order saved = placement.get();
+            statementsPerOrder.record(statements.count());
+            shopMetrics.orderCreated(saved.getItems().size());
+            linesPerOrder.record(saved.getItems().size());
+            logger.debug("Order {} created with {} lines in {} statements",
+                    saved.getOrderId(), saved.getItems().size(), statements.count());
+            // öneri sıralaması, katalog önbelleği ve SSE düğüme özeldir; commit'ten sonra burada güncellenir
+            List<Long> soldProductIds = new ArrayList<>(saved.getItems().size());
+            for (OrderItem item : saved.getItems()) {
+                suggestIndex.recordSale(item.getProduct().getProductId(), item.getQuantity());
+                soldProductIds.add(item.getProduct().getProductId());
             }
-
-            return userRepository.findById(request.getUserId())
-                    .map(user -> {
-                        if (request.getTotalAmount() == null) {
-                            return ResponseEntity.badRequest().body("Total amount is required");
-                        }
-
-                        if (request.getTotalAmount().compareTo(new BigDecimal("50")) < 0) {
-                            return ResponseEntity.badRequest()
-                                    .body("Minimum sipariş tutarı 50 TL olmalıdır");
-                        }
-
-                        Order order = new Order();
-                        order.setUser(user);
-                        order.setTotalAmount(request.getTotalAmount());
-                        order.setShippingAddress(request.getShippingAddress());
-                        order.setStatus(OrderStatus.BEKLEMEDE);
-
-                        List<OrderItem> items = new ArrayList<>();
-                        BigDecimal computedTotal = BigDecimal.ZERO;
-
-                        for (OrderItemRequest itemReq : request.getItems()) {
-                            if (itemReq == null || itemReq.getProductId() == null || itemReq.getQuantity() == null) {
-                                throw new IllegalArgumentException("Invalid order item");
-                            }
-
-                            var optProduct = productRepository.findById(itemReq.getProductId());
-                            if (optProduct.isEmpty()) {
-                                throw new IllegalArgumentException("Product not found: " + itemReq.getProductId());
-                            }
-                            var product = optProduct.get();
-                            if (product.getStock() < itemReq.getQuantity()) {
-                                throw new IllegalArgumentException("Insufficient stock for product: " + product.getProductId());
-                            }
-
-                            OrderItem item = new OrderItem();
-                            item.setOrder(order);
-                            item.setProduct(product);
-                            item.setQuantity(itemReq.getQuantity());
-                            item.setPriceAtPurchase(product.getPrice());
-                            BigDecimal lineSubtotal = product.getPrice().multiply(new BigDecimal(itemReq.getQuantity()));
-                            item.setSubtotal(lineSubtotal);
-                            items.add(item);
-
-                            // decrease stock
-                            product.setStock(product.getStock() - itemReq.getQuantity());
-                            productRepository.save(product);
-
-                            computedTotal = computedTotal.add(lineSubtotal);
-                        }
-
-                        // optional: verify totals match
-                        if (computedTotal.compareTo(request.getTotalAmount()) != 0) {
-                            logger.warn("Computed total {} does not match client total {}", computedTotal, request.getTotalAmount());
-                            // proceed but set authoritative total
-                            order.setTotalAmount(computedTotal);
-                        }
-
-                        order.setItems(items);
-                        Order saved = orderRepository.save(order);
-                        return ResponseEntity.ok(saved);
-                    })
-                    .orElse(ResponseEntity.badRequest().body("User not found"));
+            catalogCache.stockChanged(soldProductIds);
+            sellerOrderEvents.orderPlaced(saved);
+            return ResponseEntity.ok(saved);
+        } catch (InsufficientStockException ex) {
+            shopMetrics.orderRejectedForStock();
+            logger.warn("Order creation failed: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
         } catch (IllegalArgumentException ex) {
+            shopMetrics.orderRejectedAsInvalid();
             logger.warn("Order creation failed: {}", ex.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
         } catch (Exception ex) {
@@ -129,16 +282,31 @@ public class OrderController {
     }
     
     @PutMapping("/{id}/status")
+    @Transactional
     public ResponseEntity<Order> updateOrderStatus(@PathVariable Long id, 
                                                     @RequestBody StatusRequest request) {
         return orderRepository.findById(id)
                 .map(order -> {
                     order.setStatus(request.getStatus());
-                    return ResponseEntity.ok(orderRepository.save(order));
+                    order.setUpdatedAt(LocalDateTime.now());
+                    Order saved = orderRepository.save(order);
+                    // satıcı panelleri commit edilmemiş (geri alınabilecek) durumu görmesin
+                    List<Long> sellerIds = sellerOrderRepository.findSellerIdsByOrderId(id);
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            sellerOrderEvents.statusChanged(id, saved.getStatus(), saved.getUpdatedAt(), sellerIds);
+                        }
+                    });
+                    return ResponseEntity.ok(saved);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    private static String sellerCursor(OrderView order) {
+        return order.getOrderDate() + "_" + order.getOrderId();
+    }
+    
     public static class OrderRequest {
         private Long userId;
         private BigDecimal totalAmount;
@@ -175,6 +343,13 @@ public class OrderController {
         public OrderStatus getStatus() { return status; }
         public void setStatus(OrderStatus status) { this.status = status; }
     }
+    
+    public static class CheckoutRequest {
+        private String shippingAddress;
+        
+        public String getShippingAddress() { return shippingAddress; }
+        public void setShippingAddress(String shippingAddress) { this.shippingAddress = shippingAddress; }
+    }
 
 }
 
@@ -1,19 +1,40 @@
 package com.techmarket.controller;
 
+import com.techmarket.catalog.CatalogCache;
+import com.techmarket.catalog.CatalogSnapshot;
+import com.techmarket.catalog.ProductDetailCache;
+import com.techmarket.dto.CursorPage;
+import com.techmarket.dto.ProductListing;
+import com.techmarket.inventory.FlashSaleInventory;
 import com.techmarket.model.Product;
 import com.techmarket.repository.ProductRepository;
 import com.techmarket.repository.UserRepository;
 import com.techmarket.repository.CategoryRepository;
+import com.techmarket.search.ProductSearchIndex;
+import com.techmarket.search.ProductSuggestIndex;
+import com.techmarket.search.Suggestion;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/products")
 @CrossOrigin(origins = "http://localhost:3000")
 public class ProductController {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int DEFAULT_SEARCH_LIMIT = 50;
+    private static final int DEFAULT_SUGGEST_LIMIT = 10;
+    private static final int MAX_SUGGEST_LIMIT = 50;
+    private static final String COMPACT_FORMAT = "compact";
     
     @Autowired
     private ProductRepository productRepository;
@@ -24,31 +45,110 @@ public class ProductController {
     @Autowired
     private CategoryRepository categoryRepository;
     
+    @Autowired
+    private ProductSearchIndex searchIndex;
+    
+    @Autowired
+    private ProductSuggestIndex suggestIndex;
+    
+    @Autowired
+    private FlashSaleInventory flashSaleInventory;
+    
+    @Autowired
+    private CatalogCache catalogCache;
+    
+    @Autowired
+    private ProductDetailCache productDetailCache;
+    
     @GetMapping
-    public List<Product> getAllProducts() {
-        return productRepository.findByIsActiveTrue();
+    public ResponseEntity<?> getAllProducts(@RequestParam(required = false) Long after,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(required = false) String format,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // after/limit parametresi verilmeyen eski istemciler tüm listeyi almaya devam eder
+        if (after == null && limit == null) {
+            CatalogSnapshot catalog = catalogCache.current();
+            if (catalog == null) {
+                return ResponseEntity.ok(listing(productRepository.findByIsActiveTrue(), format));
+            }
+            if (COMPACT_FORMAT.equals(format)) {
+                return catalog.respond(catalog.getCompactListing(), ifNoneMatch);
+            }
+            return catalog.respond(catalog.getProductsJson(), ifNoneMatch);
+        }
+        int size = pageSize(limit);
+        return ResponseEntity.ok(page(CursorPage.of(
+                productRepository.findByIsActiveTrueAndProductIdGreaterThanOrderByProductIdAsc(
+                        cursor(after), Limit.of(size + 1)),
+                size, Product::getProductId), format));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
-        return productRepository.findById(id)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<byte[]> getProductById(@PathVariable Long id) {
+        return productDetailCache.get(id)
+                .map(json -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json))
                 .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/search")
-    public List<Product> searchProducts(@RequestParam String keyword) {
-        return productRepository.searchProducts(keyword);
+    public Object searchProducts(@RequestParam String keyword,
+                                 @RequestParam(required = false) Integer limit,
+                                 @RequestParam(required = false) String format) {
+        // İndeks açılışta henüz kurulmadıysa eski LIKE sorgusuna düş
+        if (!searchIndex.isReady()) {
+            return listing(productRepository.searchProducts(keyword), format);
+        }
+        List<Long> ranked = searchIndex.search(keyword,
+                limit == null ? DEFAULT_SEARCH_LIMIT : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        if (ranked.isEmpty()) {
+            return listing(List.of(), format);
+        }
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ranked.size(); i++) {
+            rank.put(ranked.get(i), i);
+        }
+        List<Product> products = productRepository.findAllById(ranked);
+        products.sort(Comparator.comparing(p -> rank.get(p.getProductId())));
+        return listing(products, format);
+    }
+    
+    @GetMapping("/suggest")
+    public List<Suggestion> suggestProducts(@RequestParam String prefix,
+                                            @RequestParam(required = false) Integer limit) {
+        return suggestIndex.suggest(prefix,
+                limit == null ? DEFAULT_SUGGEST_LIMIT : Math.min(Math.max(limit, 1), MAX_SUGGEST_LIMIT));
     }
     
     @GetMapping("/category/{categoryId}")
-    public List<Product> getProductsByCategory(@PathVariable Long categoryId) {
-        return productRepository.findByCategory_CategoryId(categoryId);
+    public ResponseEntity<?> getProductsByCategory(@PathVariable Long categoryId,
+                                                   @RequestParam(required = false) Long after,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   @RequestParam(required = false) String format) {
+        // sayfalama parametresi yoksa eski davranış: kategorinin tamamı
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(listing(productRepository.findByCategory_CategoryId(categoryId), format));
+        }
+        int size = pageSize(limit);
+        return ResponseEntity.ok(page(CursorPage.of(
+                productRepository.findByCategory_CategoryIdAndProductIdGreaterThanOrderByProductIdAsc(
+                        categoryId, cursor(after), Limit.of(size + 1)),
+                size, Product::getProductId), format));
     }
     
     @GetMapping("/seller/{sellerId}")
-    public List<Product> getProductsBySeller(@PathVariable Long sellerId) {
-        return productRepository.findBySeller_UserId(sellerId);
+    public ResponseEntity<?> getProductsBySeller(@PathVariable Long sellerId,
+                                                 @RequestParam(required = false) Long after,
+                                                 @RequestParam(required = false) Integer limit,
+                                                 @RequestParam(required = false) String format) {
+        // sayfalama parametresi yoksa eski davranış: satıcının tüm ürünleri
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(listing(productRepository.findBySeller_UserId(sellerId), format));
+        }
+        int size = pageSize(limit);
+        return ResponseEntity.ok(page(CursorPage.of(
+                productRepository.findBySeller_UserIdAndProductIdGreaterThanOrderByProductIdAsc(
+                        sellerId, cursor(after), Limit.of(size + 1)),
+                size, Product::getProductId), format));
     }
     
     @PostMapping
@@ -67,6 +167,9 @@ public class ProductController {
                             product.setIsActive(true);
                             
                             Product saved = productRepository.save(product);
+                            searchIndex.index(saved);
+                            suggestIndex.index(saved);
+                            catalogCache.productChanged(saved);
                             return ResponseEntity.ok(saved);
                         }))
                 .orElse(ResponseEntity.badRequest().build());
@@ -82,7 +185,14 @@ public class ProductController {
                     product.setStock(request.getStock());
                     product.setImageUrl(request.getImageUrl());
                     product.setUpdatedAt(LocalDateTime.now());
-                    return ResponseEntity.ok(productRepository.save(product));
+                    // flash-sale ürünlerinde bellekteki sayaç ve journal kayıtla birlikte sıfırlanır
+                    Product saved = flashSaleInventory.resetStock(id, product.getStock(),
+                            () -> productRepository.save(product));
+                    productDetailCache.invalidate(id);
+                    searchIndex.index(saved);
+                    suggestIndex.index(saved);
+                    catalogCache.productChanged(saved);
+                    return ResponseEntity.ok(saved);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -92,11 +202,35 @@ public class ProductController {
         return productRepository.findById(id)
                 .map(product -> {
                     product.setIsActive(false);
-                    productRepository.save(product);
+                    Product saved = productRepository.save(product);
+                    productDetailCache.invalidate(id);
+                    searchIndex.remove(id);
+                    suggestIndex.remove(id);
+                    catalogCache.productChanged(saved);
                     return ResponseEntity.noContent().<Void>build();
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
+    
+    private static int pageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+    
+    private static long cursor(Long after) {
+        return after == null ? 0L : after;
+    }
+    
+    // format=compact verilmezse eski (tam entity) gösterim döner
+    private static Object listing(List<Product> products, String format) {
+        return COMPACT_FORMAT.equals(format) ? ProductListing.of(products, null) : products;
+    }
+    
+    private static Object page(CursorPage<Product> page, String format) {
+        return COMPACT_FORMAT.equals(format) ? ProductListing.of(page.getItems(), page.getNextCursor()) : page;
+    }
 }
 
 class ProductRequest {
@@ -1,5 +1,6 @@
 package com.techmarket.controller;
 
+import com.techmarket.catalog.CatalogCache;
 import com.techmarket.model.User;
 import com.techmarket.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +16,9 @@ public class UserController {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private CatalogCache catalogCache;
+    
     @GetMapping
     public List<User> getAllUsers() {
         return userRepository.findAll();
@@ -54,7 +58,10 @@ public class UserController {
                     user.setPhone(userDetails.getPhone());
                     user.setAddress(userDetails.getAddress());
                     user.setUserType(userDetails.getUserType());
-                    return ResponseEntity.ok(userRepository.save(user));
+                    User saved = userRepository.save(user);
+                    // ürün JSON'u satıcı bilgilerini içerir
+                    catalogCache.sellerChanged(saved.getUserId());
+                    return ResponseEntity.ok(saved);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -0,0 +1,36 @@
+package com.techmarket.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Sepetin ürün ve adet listesi; toplu sepet güncellemesinin cevabı. */
+public class CartView {
+    private final Long cartId;
+    private final Long userId;
+    private final List<Line> items = new ArrayList<>();
+    
+    public CartView(Long cartId, Long userId) {
+        this.cartId = cartId;
+        this.userId = userId;
+    }
+    
+    public Long getCartId() { return cartId; }
+    
+    public Long getUserId() { return userId; }
+    
+    public List<Line> getItems() { return items; }
+    
+    public static class Line {
+        private final Long productId;
+        private final Integer quantity;
+        
+        public Line(Long productId, Integer quantity) {
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+        
+        public Long getProductId() { return productId; }
+        
+        public Integer getQuantity() { return quantity; }
+    }
+}
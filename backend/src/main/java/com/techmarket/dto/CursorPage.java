@@ -0,0 +1,38 @@
+package com.techmarket.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset sayfalama cevabı. nextCursor bir sonraki sayfanın "after" parametresidir,
+ * son sayfada null döner.
+ */
+public class CursorPage<T> {
+    private final List<T> items;
+    private final String nextCursor;
+    private final int limit;
+    
+    public CursorPage(List<T> items, String nextCursor, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+    
+    /**
+     * limit + 1 kayıt ile çağrılır; fazladan gelen kayıt bir sonraki sayfanın
+     * varlığını gösterir ve cevaba eklenmez.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, ?> cursorOf) {
+        if (fetched.size() <= limit) {
+            return new CursorPage<>(fetched, null, limit);
+        }
+        List<T> page = fetched.subList(0, limit);
+        return new CursorPage<>(page, String.valueOf(cursorOf.apply(page.get(limit - 1))), limit);
+    }
+    
+    public List<T> getItems() { return items; }
+    
+    public String getNextCursor() { return nextCursor; }
+    
+    public int getLimit() { return limit; }
+}
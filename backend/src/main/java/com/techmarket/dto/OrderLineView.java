@@ -0,0 +1,59 @@
+package com.techmarket.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.math.BigDecimal;
+
+public class OrderLineView {
+    private final Long orderItemId;
+    private final Long orderId;
+    private final ProductRef product;
+    private final Integer quantity;
+    private final BigDecimal priceAtPurchase;
+    private final BigDecimal subtotal;
+    
+    public OrderLineView(Long orderItemId, Long orderId, Long productId, String productName,
+                         String imageUrl, Long sellerId, Integer quantity,
+                         BigDecimal priceAtPurchase, BigDecimal subtotal) {
+        this.orderItemId = orderItemId;
+        this.orderId = orderId;
+        this.product = new ProductRef(productId, productName, imageUrl, sellerId);
+        this.quantity = quantity;
+        this.priceAtPurchase = priceAtPurchase;
+        this.subtotal = subtotal;
+    }
+    
+    public Long getOrderItemId() { return orderItemId; }
+    
+    @JsonIgnore
+    public Long getOrderId() { return orderId; }
+    
+    public ProductRef getProduct() { return product; }
+    
+    public Integer getQuantity() { return quantity; }
+    
+    public BigDecimal getPriceAtPurchase() { return priceAtPurchase; }
+    
+    public BigDecimal getSubtotal() { return subtotal; }
+    
+    public static class ProductRef {
+        private final Long productId;
+        private final String name;
+        private final String imageUrl;
+        private final Long sellerId;
+        
+        public ProductRef(Long productId, String name, String imageUrl, Long sellerId) {
+            this.productId = productId;
+            this.name = name;
+            this.imageUrl = imageUrl;
+            this.sellerId = sellerId;
+        }
+        
+        public Long getProductId() { return productId; }
+        
+        public String getName() { return name; }
+        
+        public String getImageUrl() { return imageUrl; }
+        
+        public Long getSellerId() { return sellerId; }
+    }
+}
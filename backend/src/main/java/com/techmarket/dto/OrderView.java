@@ -0,0 +1,83 @@
+package com.techmarket.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.techmarket.model.OrderStatus;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sipariş listeleri için düz okuma modeli. JPQL constructor projection ile
+ * doldurulur; entity grafiği (User, Product -> seller/category) yüklenmez.
+ * JSON yapısı Order entity'sinin frontend'in kullandığı alanlarıyla uyumludur.
+ */
+public class OrderView {
+    private final Long orderId;
+    private final Customer user;
+    private final BigDecimal totalAmount;
+    private final OrderStatus status;
+    private final String shippingAddress;
+    private final LocalDateTime orderDate;
+    private final LocalDateTime updatedAt;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final BigDecimal sellerSubtotal;
+    private final List<OrderLineView> items = new ArrayList<>();
+    
+    public OrderView(Long orderId, Long userId, String firstName, String lastName,
+                     BigDecimal totalAmount, OrderStatus status, String shippingAddress,
+                     LocalDateTime orderDate, LocalDateTime updatedAt) {
+        this(orderId, userId, firstName, lastName, totalAmount, status, shippingAddress,
+                orderDate, updatedAt, null);
+    }
+    
+    /** Satıcı listesi için; sellerSubtotal siparişte yalnızca o satıcının kalemlerinin toplamıdır. */
+    public OrderView(Long orderId, Long userId, String firstName, String lastName,
+                     BigDecimal totalAmount, OrderStatus status, String shippingAddress,
+                     LocalDateTime orderDate, LocalDateTime updatedAt, BigDecimal sellerSubtotal) {
+        this.orderId = orderId;
+        this.user = new Customer(userId, firstName, lastName);
+        this.totalAmount = totalAmount;
+        this.status = status;
+        this.shippingAddress = shippingAddress;
+        this.orderDate = orderDate;
+        this.updatedAt = updatedAt;
+        this.sellerSubtotal = sellerSubtotal;
+    }
+    
+    public Long getOrderId() { return orderId; }
+    
+    public Customer getUser() { return user; }
+    
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    
+    public OrderStatus getStatus() { return status; }
+    
+    public String getShippingAddress() { return shippingAddress; }
+    
+    public LocalDateTime getOrderDate() { return orderDate; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    
+    public BigDecimal getSellerSubtotal() { return sellerSubtotal; }
+    
+    public List<OrderLineView> getItems() { return items; }
+    
+    public static class Customer {
+        private final Long userId;
+        private final String firstName;
+        private final String lastName;
+        
+        public Customer(Long userId, String firstName, String lastName) {
+            this.userId = userId;
+            this.firstName = firstName;
+            this.lastName = lastName;
+        }
+        
+        public Long getUserId() { return userId; }
+        
+        public String getFirstName() { return firstName; }
+        
+        public String getLastName() { return lastName; }
+    }
+}
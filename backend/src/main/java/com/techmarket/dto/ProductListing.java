@@ -0,0 +1,136 @@
+package com.techmarket.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.techmarket.model.Product;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ürün listelerinin kompakt biçimi (?format=compact). Her ürün satıcı ve kategorisini
+ * yalnızca id ile gösterir; listede geçen satıcı ve kategoriler birer kez, sellers ve
+ * categories tablolarında yer alır. Accept: application/cbor ile ikili kodlanabilir.
+ */
+public class ProductListing {
+    private final List<Item> products;
+    private final Map<Long, SellerRef> sellers;
+    private final Map<Long, CategoryRef> categories;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String nextCursor;
+    
+    public ProductListing(List<Item> products, Map<Long, SellerRef> sellers,
+                          Map<Long, CategoryRef> categories, String nextCursor) {
+        this.products = products;
+        this.sellers = sellers;
+        this.categories = categories;
+        this.nextCursor = nextCursor;
+    }
+    
+    /** Satıcı ve kategorisi yüklenmiş ürünlerden kurar. */
+    public static ProductListing of(Collection<Product> products, String nextCursor) {
+        List<Item> items = new ArrayList<>(products.size());
+        Map<Long, SellerRef> sellers = new LinkedHashMap<>();
+        Map<Long, CategoryRef> categories = new LinkedHashMap<>();
+        for (Product product : products) {
+            items.add(new Item(product));
+            sellers.computeIfAbsent(product.getSeller().getUserId(),
+                    id -> new SellerRef(id, product.getSeller().getFirstName(), product.getSeller().getLastName()));
+            categories.computeIfAbsent(product.getCategory().getCategoryId(),
+                    id -> new CategoryRef(id, product.getCategory().getName()));
+        }
+        return new ProductListing(items, sellers, categories, nextCursor);
+    }
+    
+    /** Önceden kurulmuş satırlardan kurar; tablolara yalnızca listede geçenler alınır. */
+    public static ProductListing of(Collection<Item> items, Map<Long, SellerRef> allSellers,
+                                    Map<Long, CategoryRef> allCategories) {
+        Map<Long, SellerRef> sellers = new LinkedHashMap<>();
+        Map<Long, CategoryRef> categories = new LinkedHashMap<>();
+        for (Item item : items) {
+            sellers.computeIfAbsent(item.getSellerId(), allSellers::get);
+            categories.computeIfAbsent(item.getCategoryId(), allCategories::get);
+        }
+        return new ProductListing(new ArrayList<>(items), sellers, categories, null);
+    }
+    
+    public List<Item> getProducts() { return products; }
+    
+    public Map<Long, SellerRef> getSellers() { return sellers; }
+    
+    public Map<Long, CategoryRef> getCategories() { return categories; }
+    
+    public String getNextCursor() { return nextCursor; }
+    
+    public static class Item {
+        private final Long productId;
+        private final Long sellerId;
+        private final Long categoryId;
+        private final String name;
+        private final String description;
+        private final BigDecimal price;
+        private final Integer stock;
+        private final String imageUrl;
+        
+        public Item(Product product) {
+            this.productId = product.getProductId();
+            this.sellerId = product.getSeller().getUserId();
+            this.categoryId = product.getCategory().getCategoryId();
+            this.name = product.getName();
+            this.description = product.getDescription();
+            this.price = product.getPrice();
+            this.stock = product.getStock();
+            this.imageUrl = product.getImageUrl();
+        }
+        
+        public Long getProductId() { return productId; }
+        
+        public Long getSellerId() { return sellerId; }
+        
+        public Long getCategoryId() { return categoryId; }
+        
+        public String getName() { return name; }
+        
+        public String getDescription() { return description; }
+        
+        public BigDecimal getPrice() { return price; }
+        
+        public Integer getStock() { return stock; }
+        
+        public String getImageUrl() { return imageUrl; }
+    }
+    
+    public static class SellerRef {
+        private final Long userId;
+        private final String firstName;
+        private final String lastName;
+        
+        public SellerRef(Long userId, String firstName, String lastName) {
+            this.userId = userId;
+            this.firstName = firstName;
+            this.lastName = lastName;
+        }
+        
+        public Long getUserId() { return userId; }
+        
+        public String getFirstName() { return firstName; }
+        
+        public String getLastName() { return lastName; }
+    }
+    
+    public static class CategoryRef {
+        private final Long categoryId;
+        private final String name;
+        
+        public CategoryRef(Long categoryId, String name) {
+            this.categoryId = categoryId;
+            this.name = name;
+        }
+        
+        public Long getCategoryId() { return categoryId; }
+        
+        public String getName() { return name; }
+    }
+}
@@ -0,0 +1,294 @@
+package com.techmarket.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techmarket.dto.OrderLineView;
+import com.techmarket.dto.OrderView;
+import com.techmarket.model.Order;
+import com.techmarket.model.OrderItem;
+import com.techmarket.model.OrderStatus;
+import com.techmarket.model.Product;
+import com.techmarket.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Satıcı paneli için süreç içi olay yolu (SSE).
+ *
+ * Sipariş oluşturma ve durum güncellemesi commit'ten sonra yayınlar; olaylar bellekteki
+ * Order'dan kurulur, JSON'a bir kez çevrilir ve ilgili satıcının abonelerine dağıtılır.
+ * Boşta bekleyen paneller ne thread ne de veritabanı sorgusu tüketir.
+ *
+ * Her abonenin sınırlı bir tamponu vardır; dolunca en eski olay düşer ve abone bir sonraki
+ * teslimde "resync" olayı alır (listeyi bir kez yeniden yüklemesi için). Yayınlayan thread
+ * hiçbir zaman yavaş bir istemcinin soketini beklemez: teslimat küçük bir havuzda, abone
+ * başına tek bir boşaltma görevi ile yapılır.
+ *
+ * Abonelikler düğüme özeldir; birden fazla backend düğümünde her düğüm yalnızca kendi
+ * yazdığı olayları yayınlar.
+ */
+@Component
+public class SellerOrderEvents {
+    private static final Logger logger = LoggerFactory.getLogger(SellerOrderEvents.class);
+    static final String ORDER_CREATED = "order-created";
+    static final String ORDER_STATUS = "order-status";
+    static final String RESYNC = "resync";
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${techmarket.seller-events.buffer-size:64}")
+    private int bufferSize;
+    
+    @Value("${techmarket.seller-events.timeout-ms:1800000}")
+    private long timeoutMillis;
+    
+    @Value("${techmarket.seller-events.delivery-threads:2}")
+    private int deliveryThreads;
+    
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private ExecutorService delivery;
+    private Counter delivered;
+    private Counter dropped;
+    
+    @PostConstruct
+    void init() {
+        AtomicInteger threads = new AtomicInteger();
+        delivery = Executors.newFixedThreadPool(deliveryThreads, task -> {
+            Thread thread = new Thread(task, "seller-events-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        delivered = meterRegistry.counter("techmarket.seller-events.delivered");
+        dropped = meterRegistry.counter("techmarket.seller-events.dropped");
+        Gauge.builder("techmarket.seller-events.subscribers", subscriberCount, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        delivery.shutdownNow();
+        for (Set<Subscriber> forSeller : subscribers.values()) {
+            for (Subscriber subscriber : forSeller) {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+    
+    public SseEmitter subscribe(Long sellerId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(sellerId, emitter, bufferSize);
+        subscribers.computeIfAbsent(sellerId, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(ex -> unsubscribe(subscriber));
+        return emitter;
+    }
+    
+    /** Yeni sipariş; her satıcı yalnızca kendi kalemlerini ve ara toplamını görür. */
+    public void orderPlaced(Order order) {
+        Map<Long, OrderView> views = new LinkedHashMap<>();
+        User customer = order.getUser();
+        for (OrderItem item : order.getItems()) {
+            Product product = item.getProduct();
+            Long sellerId = product.getSeller().getUserId();
+            if (!subscribers.containsKey(sellerId)) {
+                continue;
+            }
+            OrderView view = views.get(sellerId);
+            if (view == null) {
+                view = new OrderView(order.getOrderId(), customer.getUserId(), customer.getFirstName(),
+                        customer.getLastName(), order.getTotalAmount(), order.getStatus(), order.getShippingAddress(),
+                        order.getOrderDate(), order.getUpdatedAt(), sellerSubtotal(order, sellerId));
+                views.put(sellerId, view);
+            }
+            view.getItems().add(new OrderLineView(item.getOrderItemId(), order.getOrderId(), product.getProductId(),
+                    product.getName(), product.getImageUrl(), sellerId, item.getQuantity(),
+                    item.getPriceAtPurchase(), item.getSubtotal()));
+        }
+        views.forEach((sellerId, view) -> publish(sellerId, ORDER_CREATED, view));
+    }
+    
+    public void statusChanged(Long orderId, OrderStatus status, LocalDateTime updatedAt, Collection<Long> sellerIds) {
+        StatusChange change = new StatusChange(orderId, status, updatedAt);
+        for (Long sellerId : sellerIds) {
+            publish(sellerId, ORDER_STATUS, change);
+        }
+    }
+    
+    // Ara bağlantılar (proxy, yük dengeleyici) boşta kalan akışı kesmesin; ölü bağlantılar da burada düşer
+    @Scheduled(fixedDelayString = "${techmarket.seller-events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Set<Subscriber> forSeller : subscribers.values()) {
+            for (Subscriber subscriber : forSeller) {
+                subscriber.heartbeat = true;
+                schedule(subscriber);
+            }
+        }
+    }
+    
+    private void publish(Long sellerId, String name, Object payload) {
+        Set<Subscriber> forSeller = subscribers.get(sellerId);
+        if (forSeller == null || forSeller.isEmpty()) {
+            return;
+        }
+        Event event = new Event(name, serialize(payload));
+        for (Subscriber subscriber : forSeller) {
+            subscriber.offer(event);
+            schedule(subscriber);
+        }
+    }
+    
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                delivery.execute(() -> drain(subscriber));
+            } catch (RuntimeException ex) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+    
+    private void drain(Subscriber subscriber) {
+        try {
+            while (true) {
+                if (subscriber.heartbeat) {
+                    subscriber.heartbeat = false;
+                    subscriber.emitter.send(SseEmitter.event().comment("ping"));
+                }
+                Event event = subscriber.buffer.poll();
+                if (event == null) {
+                    break;
+                }
+                if (subscriber.missed.getAndSet(0) > 0) {
+                    subscriber.emitter.send(SseEmitter.event().name(RESYNC).data("{}", MediaType.APPLICATION_JSON));
+                }
+                subscriber.emitter.send(SseEmitter.event().name(event.name).data(event.json, MediaType.APPLICATION_JSON));
+                delivered.increment();
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // istemci gitti ya da emitter tamamlandı
+            logger.debug("Seller {} event stream closed: {}", subscriber.sellerId, ex.getMessage());
+            unsubscribe(subscriber);
+            subscriber.emitter.completeWithError(ex);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // boşaltma biterken gelen olay kaçmasın
+        if (!subscriber.buffer.isEmpty() || subscriber.heartbeat) {
+            schedule(subscriber);
+        }
+    }
+    
+    private void unsubscribe(Subscriber subscriber) {
+        Set<Subscriber> forSeller = subscribers.get(subscriber.sellerId);
+        if (forSeller != null && forSeller.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+            if (forSeller.isEmpty()) {
+                subscribers.remove(subscriber.sellerId, forSeller);
+            }
+        }
+    }
+    
+    private static BigDecimal sellerSubtotal(Order order, Long sellerId) {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (OrderItem item : order.getItems()) {
+            if (item.getProduct().getSeller().getUserId().equals(sellerId)) {
+                subtotal = subtotal.add(item.getSubtotal());
+            }
+        }
+        return subtotal;
+    }
+    
+    private String serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    private final class Subscriber {
+        final Long sellerId;
+        final SseEmitter emitter;
+        final ArrayBlockingQueue<Event> buffer;
+        final AtomicInteger missed = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean heartbeat;
+        
+        Subscriber(Long sellerId, SseEmitter emitter, int capacity) {
+            this.sellerId = sellerId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+        }
+        
+        // Tampon doluysa en eskisi düşer
+        void offer(Event event) {
+            while (!buffer.offer(event)) {
+                if (buffer.poll() != null) {
+                    missed.incrementAndGet();
+                    dropped.increment();
+                }
+            }
+        }
+    }
+    
+    private static final class Event {
+        final String name;
+        final String json;
+        
+        Event(String name, String json) {
+            this.name = name;
+            this.json = json;
+        }
+    }
+    
+    public static final class StatusChange {
+        private final Long orderId;
+        private final OrderStatus status;
+        private final LocalDateTime updatedAt;
+        
+        StatusChange(Long orderId, OrderStatus status, LocalDateTime updatedAt) {
+            this.orderId = orderId;
+            this.status = status;
+            this.updatedAt = updatedAt;
+        }
+        
+        public Long getOrderId() { return orderId; }
+        
+        public OrderStatus getStatus() { return status; }
+        
+        public LocalDateTime getUpdatedAt() { return updatedAt; }
+    }
+}
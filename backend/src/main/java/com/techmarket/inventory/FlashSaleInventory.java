@@ -0,0 +1,237 @@
+package com.techmarket.inventory;
+
+import com.techmarket.model.InventoryJournal;
+import com.techmarket.repository.InventoryJournalRepository;
+import com.techmarket.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Flash-sale modundaki ürünler için bellek içi stok defteri.
+ *
+ * İşaretli ürünlerin stoğu bellekte atomik sayaçlarda tutulur; sipariş satırları
+ * veritabanında satır kilidi almadan CAS ile ayrılır. Her ayrım siparişle aynı
+ * transaction'da inventory_journal'a yazılır ve periyodik olarak toplu halde
+ * product.stock'a geri yazılır. Uygulama çökerse açılışta önce journal'da kalan
+ * düşümler uygulanır, sayaçlar ancak ondan sonra product.stock'tan yüklenir.
+ *
+ * Satıcının stoğu elle güncellemesi ürün başına bir kilitle ayrımlara karşı sıralanır:
+ * ayrımlar transaction'ları bitene kadar okuma kilidini tutar, resetStock yazma kilidini
+ * alıp journal'ı ürün kaydıyla aynı transaction'da siler ve sayacı commit'ten sonra,
+ * kilidi bırakmadan önce ayarlar. Geri yazma (flush) da resetStock ile aynı ürün için
+ * eşzamanlı çalışmaz.
+ *
+ * Sayaçlar düğüme özeldir; işaretli ürünler tek bir backend düğümü tarafından
+ * satılmalıdır.
+ */
+@Component
+public class FlashSaleInventory {
+    private static final Logger logger = LoggerFactory.getLogger(FlashSaleInventory.class);
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private InventoryJournalRepository journalRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Value("${techmarket.inventory.flash-sale.product-ids:}")
+    private Set<Long> flaggedProductIds;
+    
+    private final Map<Long, Ledger> ledgers = new ConcurrentHashMap<>();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (flaggedProductIds.isEmpty()) {
+            return;
+        }
+        // önceki çalışmadan kalan düşümleri uzlaştır
+        Set<Long> pending = new HashSet<>(journalRepository.findPendingProductIds());
+        pending.addAll(flaggedProductIds);
+        for (Long productId : pending) {
+            writeBack(productId);
+        }
+        for (Long productId : flaggedProductIds) {
+            productRepository.findById(productId).ifPresentOrElse(
+                    product -> ledgers.put(productId, new Ledger(product.getStock())),
+                    () -> logger.warn("Flash-sale product {} not found", productId));
+        }
+        logger.info("Flash-sale inventory loaded for products {}", ledgers.keySet());
+    }
+    
+    public boolean isManaged(Long productId) {
+        return ledgers.containsKey(productId);
+    }
+    
+    /**
+     * Stoğu bellekte ayırır. Transaction geri alınırsa ayrılan miktar sayaca iade edilir;
+     * ayrımlar aynı transaction içinde journal() ile kalıcı hale getirilmelidir.
+     * Transaction bitene kadar ürünün okuma kilidi tutulur, böylece resetStock
+     * henüz commit edilmemiş bir ayrımı ezemez.
+     */
+    public boolean tryReserve(Long productId, int quantity) {
+        Ledger ledger = ledgers.get(productId);
+        if (ledger == null) {
+            throw new IllegalStateException("Product is not in flash-sale mode: " + productId);
+        }
+        Lock reservation = ledger.lock.readLock();
+        reservation.lock();
+        AtomicInteger counter = ledger.available;
+        int current;
+        do {
+            current = counter.get();
+            if (current < quantity) {
+                reservation.unlock();
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current - quantity));
+        
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reservation.unlock();
+            return true;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status != STATUS_COMMITTED) {
+                        counter.addAndGet(quantity);
+                    }
+                } finally {
+                    reservation.unlock();
+                }
+            }
+        });
+        return true;
+    }
+    
+    /** Siparişin bellekte ayrılan satırlarını tek batch INSERT ile journal'a yazar. */
+    public void journal(Map<Long, Integer> reserved) {
+        if (reserved.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(reserved.size());
+        reserved.forEach((productId, quantity) -> rows.add(new Object[] {productId, quantity, now}));
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO inventory_journal (product_id, quantity, created_at) VALUES (?, ?, ?)", rows);
+    }
+    
+    /**
+     * Satıcı stoğu elle güncellediğinde ürün kaydını (save) çalıştırır: yeni değer mutlak
+     * kabul edilir, henüz geri yazılmamış düşümler bu değere dahil sayılıp aynı transaction'da
+     * silinir. Flash-sale dışındaki ürünlerde save doğrudan çağrılır.
+     */
+    public <T> T resetStock(Long productId, int stock, Supplier<T> save) {
+        Ledger ledger = ledgers.get(productId);
+        if (ledger == null) {
+            return save.get();
+        }
+        return transactionTemplate.execute(status -> {
+            holdUntilCompletion(ledger.writeBack, ledger.lock.writeLock(), () -> ledger.available.set(stock));
+            journalRepository.deleteByProductId(productId);
+            return save.get();
+        });
+    }
+    
+    @Scheduled(fixedDelayString = "${techmarket.inventory.flush-interval-ms:1000}")
+    public void flush() {
+        for (Long productId : ledgers.keySet()) {
+            try {
+                writeBack(productId);
+            } catch (RuntimeException ex) {
+                logger.error("Stock write-back failed for product {}", productId, ex);
+            }
+        }
+    }
+    
+    private void writeBack(Long productId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Ledger ledger = ledgers.get(productId);
+            if (ledger != null) {
+                holdUntilCompletion(ledger.writeBack, null, null);
+            }
+            List<InventoryJournal> pending = journalRepository.findPendingForUpdate(productId);
+            if (pending.isEmpty()) {
+                return;
+            }
+            int total = 0;
+            for (InventoryJournal entry : pending) {
+                total += entry.getQuantity();
+            }
+            productRepository.subtractStock(productId, total);
+            journalRepository.deleteAllInBatch(pending);
+        });
+    }
+    
+    /**
+     * Kilitleri transaction'ın bağlantısı alındıktan sonra alır ve transaction bitince bırakır;
+     * onCommit kilitler bırakılmadan önce çalışır. Kilitler her zaman bağlantıdan sonra
+     * alındığından, bağlantı tutarak kilit bekleyen ayrımlarla havuz kilitlenmez.
+     */
+    private static void holdUntilCompletion(Lock first, Lock second, Runnable onCommit) {
+        first.lock();
+        if (second != null) {
+            try {
+                second.lock();
+            } catch (RuntimeException ex) {
+                first.unlock();
+                throw ex;
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (onCommit != null) {
+                    onCommit.run();
+                }
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                if (second != null) {
+                    second.unlock();
+                }
+                first.unlock();
+            }
+        });
+    }
+    
+    private static final class Ledger {
+        final AtomicInteger available;
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final Lock writeBack = new ReentrantLock();
+        
+        Ledger(int stock) {
+            this.available = new AtomicInteger(stock);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.techmarket.jdbc;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Havuzdan bağlantı alan thread sayısını havuz boyutunun altında tutar.
+ *
+ * Bir thread'in ilk bağlantısı izin ister; aynı thread açıkken aldığı iç içe bağlantılar
+ * (Hibernate'in TableGenerator'ı id bloğunu ayrı bir bağlantıda alır) izin istemez. Böylece
+ * havuzda her zaman ayrılmış birkaç bağlantı kalır ve tüm bağlantıları tutan istekler,
+ * id bloğu için ikinci bir bağlantı beklerken kilitlenmez.
+ *
+ * Metrikler (bindTo): techmarket.jdbc.gate.wait izin bekleme süresi (zaman aşımına
+ * uğrayanlar dahil), techmarket.jdbc.gate.queued izin bekleyen thread sayısı.
+ */
+final class ConnectionGate {
+    private static final ThreadLocal<AtomicInteger> DEPTH = ThreadLocal.withInitial(AtomicInteger::new);
+    
+    private final Semaphore permits;
+    private final long timeoutMillis;
+    // MeterRegistry hazır olunca bağlanır; o zamana kadar bekleme ölçülmez
+    private volatile Timer waitTimer;
+    
+    ConnectionGate(int permits, long timeoutMillis) {
+        this.permits = new Semaphore(permits, true);
+        this.timeoutMillis = timeoutMillis;
+    }
+    
+    void bindTo(MeterRegistry registry, String pool) {
+        waitTimer = Timer.builder("techmarket.jdbc.gate.wait")
+                .description("Time spent waiting for a connection gate permit")
+                .tag("pool", pool)
+                .publishPercentileHistogram()
+                .register(registry);
+        Gauge.builder("techmarket.jdbc.gate.queued", permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a connection gate permit")
+                .tag("pool", pool)
+                .register(registry);
+    }
+    
+    /**
+     * Bağlantı almadan önce çağrılır; dönen tutamaç bağlantı kapanınca (hangi thread'de
+     * kapanırsa kapansın) leave'e verilmelidir.
+     */
+    AtomicInteger enter() throws SQLTransientConnectionException {
+        AtomicInteger depth = DEPTH.get();
+        if (depth.get() == 0) {
+            boolean acquired;
+            long started = System.nanoTime();
+            try {
+                acquired = permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted while waiting for a connection permit", ex);
+            } finally {
+                Timer timer = waitTimer;
+                if (timer != null) {
+                    timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            }
+            if (!acquired) {
+                throw new SQLTransientConnectionException(
+                        "Connection gate timed out after " + timeoutMillis + "ms");
+            }
+        }
+        depth.incrementAndGet();
+        return depth;
+    }
+    
+    void leave(AtomicInteger depth) {
+        if (depth.decrementAndGet() == 0) {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.techmarket.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource'u, çalıştırılan her statement'ı (süresiyle) ve okunan her sonuç satırını
+ * SqlStatementCounter'a bildiren bir proxy ile sarar. JPA ve JdbcTemplate aynı havuzdan
+ * geçtiği için ikisi de sayılır.
+ * Hikari havuzlarında bağlantı alımı ayrıca bir ConnectionGate'ten geçer.
+ *
+ * Virtual thread modunda (spring.threads.virtual.enabled) kapı ayrıca taşıyıcı thread
+ * sayısıyla sınırlanır: sürücünün synchronized bloklarında G/Ç bekleyen virtual thread'ler
+ * taşıyıcılarını sabitler; aynı anda veritabanında olabilecek thread sayısı taşıyıcı sayısını
+ * aşmazsa, bağlantı bekleyenler semaphore'da (taşıyıcıyı bırakarak) park eder.
+ *
+ * BeanPostProcessor'lar MeterRegistry'den önce oluştuğu için kapı metrikleri MeterBinder
+ * olarak, registry hazır olunca bağlanır (pool etiketi DataSource bean adıdır).
+ */
+@Component
+public class CountingDataSourcePostProcessor implements BeanPostProcessor, EnvironmentAware, MeterBinder {
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate",
+            "executeBatch", "executeLargeBatch");
+    private static final Set<String> RESULT_SET_METHODS = Set.of("executeQuery", "getResultSet");
+    // HikariConfig'in varsayılanı; ayar verilmezse havuz başlayana kadar maximumPoolSize -1 döner
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+    
+    private int reservedConnections = 2;
+    private int virtualThreadPermits;
+    private final Map<String, ConnectionGate> gates = new ConcurrentHashMap<>();
+    
+    @Override
+    public void setEnvironment(Environment environment) {
+        reservedConnections = environment.getProperty("techmarket.jdbc.reserved-connections", Integer.class, 2);
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            virtualThreadPermits = environment.getProperty("techmarket.jdbc.virtual-thread-permits", Integer.class,
+                    Integer.getInteger("jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors()));
+        }
+    }
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())) {
+            ConnectionGate gate = gateFor(dataSource);
+            if (gate != null) {
+                gates.put(beanName, gate);
+            }
+            return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                if (gate == null || !method.getName().equals("getConnection")) {
+                    Object result = invoke(target, method, args);
+                    return result instanceof Connection connection ? wrapConnection(connection, null, null) : result;
+                }
+                AtomicInteger permit = gate.enter();
+                try {
+                    return wrapConnection((Connection) invoke(target, method, args), gate, permit);
+                } catch (Throwable ex) {
+                    gate.leave(permit);
+                    throw ex;
+                }
+            });
+        }
+        return bean;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gates.forEach((pool, gate) -> gate.bindTo(registry, pool));
+    }
+    
+    private ConnectionGate gateFor(DataSource dataSource) {
+        if (!(dataSource instanceof HikariDataSource hikari) || reservedConnections <= 0) {
+            return null;
+        }
+        int permits = Math.max(maximumPoolSize(hikari) - reservedConnections, 1);
+        if (virtualThreadPermits > 0) {
+            permits = Math.min(permits, virtualThreadPermits);
+        }
+        return new ConnectionGate(permits, hikari.getConnectionTimeout());
+    }
+    
+    /** Havuz henüz başlamamış olsa da geçerli olacak en büyük havuz boyutu. */
+    public static int maximumPoolSize(HikariDataSource hikari) {
+        int configured = hikari.getMaximumPoolSize();
+        return configured > 0 ? configured : HIKARI_DEFAULT_POOL_SIZE;
+    }
+    
+    private static Connection wrapConnection(Connection connection, ConnectionGate gate, AtomicInteger permit) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            if (gate != null && method.getName().equals("close")) {
+                try {
+                    return invoke(target, method, args);
+                } finally {
+                    if (closed.compareAndSet(false, true)) {
+                        gate.leave(permit);
+                    }
+                }
+            }
+            Object result = invoke(target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return wrapStatement(CallableStatement.class, statement);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrapStatement(PreparedStatement.class, statement);
+            }
+            if (result instanceof Statement statement) {
+                return wrapStatement(Statement.class, statement);
+            }
+            return result;
+        });
+    }
+    
+    private static <S extends Statement> S wrapStatement(Class<S> type, S statement) {
+        return proxy(type, statement, (target, method, args) -> {
+            Object result;
+            if (EXECUTE_METHODS.contains(method.getName())) {
+                long started = System.nanoTime();
+                try {
+                    result = invoke(target, method, args);
+                } finally {
+                    SqlStatementCounter.record(System.nanoTime() - started);
+                }
+            } else {
+                result = invoke(target, method, args);
+            }
+            // ölçüm kapsamı yoksa (zamanlanmış işler, akıtılan dışa aktarım) satırlar sarılmadan döner
+            if (result instanceof ResultSet resultSet && RESULT_SET_METHODS.contains(method.getName())
+                    && SqlStatementCounter.active()) {
+                return wrapResultSet(resultSet);
+            }
+            return result;
+        });
+    }
+    
+    private static ResultSet wrapResultSet(ResultSet resultSet) {
+        return proxy(ResultSet.class, resultSet, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                SqlStatementCounter.rowFetched();
+            }
+            return result;
+        });
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            // unwrap/isWrapperFor gerçek nesneye gitsin (örn. Hikari metrikleri HikariDataSource arar)
+            if (method.getName().equals("unwrap") && args[0] instanceof Class<?> iface && iface.isInstance(target)) {
+                return target;
+            }
+            return handler.handle(target, method, args);
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, invocationHandler);
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+    
+    @FunctionalInterface
+    private interface Handler<T> {
+        Object handle(T target, Method method, Object[] args) throws Throwable;
+    }
+}
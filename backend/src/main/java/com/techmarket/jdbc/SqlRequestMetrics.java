@@ -0,0 +1,122 @@
+package com.techmarket.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Her API isteği için bir SqlStatementCounter kapsamı açar ve istek bitince statement
+ * sayısını, statement süresini ve okunan satırları controller metoduna göre etiketli
+ * metrik olarak yazar (handler=CartController.addToCart gibi). Statement sayısı
+ * techmarket.sql.statement-budget'ı aşan istekler sayılır ve loglanır; bir uç noktada
+ * sayının veri boyutuyla büyümesi N+1 sorgusunun işaretidir.
+ *
+ * Kapsam cevabın JSON'a yazılmasını da kapsar, yani serileştirme sırasındaki lazy
+ * yüklemeler de sayılır. Async cevaplarda (StreamingResponseBody) yalnızca istek
+ * thread'inde çalışan kısım ölçülür.
+ */
+@Component
+public class SqlRequestMetrics implements AsyncHandlerInterceptor, WebMvcConfigurer {
+    private static final Logger logger = LoggerFactory.getLogger(SqlRequestMetrics.class);
+    private static final String SCOPE_ATTRIBUTE = SqlRequestMetrics.class.getName() + ".scope";
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${techmarket.sql.statement-budget:25}")
+    private int statementBudget;
+    
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this).addPathPatterns("/api/**");
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && request.getAttribute(SCOPE_ATTRIBUTE) == null) {
+            request.setAttribute(SCOPE_ATTRIBUTE, SqlStatementCounter.open());
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        complete(request, handler);
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        complete(request, handler);
+    }
+    
+    private void complete(HttpServletRequest request, Object handler) {
+        if (!(request.getAttribute(SCOPE_ATTRIBUTE) instanceof SqlStatementCounter.Scope scope)) {
+            return;
+        }
+        request.removeAttribute(SCOPE_ATTRIBUTE);
+        scope.close();
+        if (!(handler instanceof HandlerMethod method)) {
+            return;
+        }
+        Meters m = meters.computeIfAbsent(method.getMethod(), k -> new Meters(name(method)));
+        m.statements.record(scope.count());
+        m.time.record(scope.nanos(), TimeUnit.NANOSECONDS);
+        m.rows.record(scope.rows());
+        if (scope.count() > statementBudget) {
+            m.overBudget.increment();
+            logger.warn("{} issued {} SQL statements (budget {}), {} rows, {} ms in DB: {} {}",
+                    m.handler, scope.count(), statementBudget, scope.rows(),
+                    TimeUnit.NANOSECONDS.toMillis(scope.nanos()), request.getMethod(), request.getRequestURI());
+        }
+    }
+    
+    private static String name(HandlerMethod method) {
+        return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+    }
+    
+    private final class Meters {
+        final String handler;
+        final DistributionSummary statements;
+        final Timer time;
+        final DistributionSummary rows;
+        final Counter overBudget;
+        
+        Meters(String handler) {
+            this.handler = handler;
+            statements = DistributionSummary.builder("techmarket.http.sql.statements")
+                    .description("SQL statements (round trips) issued per request")
+                    .tag("handler", handler)
+                    .register(meterRegistry);
+            time = Timer.builder("techmarket.http.sql.time")
+                    .description("Time spent executing SQL statements per request")
+                    .tag("handler", handler)
+                    .register(meterRegistry);
+            rows = DistributionSummary.builder("techmarket.http.sql.rows")
+                    .description("Result rows fetched per request")
+                    .tag("handler", handler)
+                    .register(meterRegistry);
+            overBudget = Counter.builder("techmarket.http.sql.over-budget")
+                    .description("Requests that exceeded techmarket.sql.statement-budget")
+                    .tag("handler", handler)
+                    .register(meterRegistry);
+        }
+    }
+}
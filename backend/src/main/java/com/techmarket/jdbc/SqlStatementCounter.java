@@ -0,0 +1,68 @@
+package com.techmarket.jdbc;
+
+/**
+ * O anki thread'de açılmış bir ölçüm kapsamında veritabanına giden
+ * statement sayısını, statement'larda geçen süreyi ve okunan satır sayısını tutar.
+ * Batch çalıştırmalar tek round trip sayılır.
+ */
+public final class SqlStatementCounter {
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    
+    private SqlStatementCounter() {}
+    
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+    
+    static boolean active() {
+        return CURRENT.get() != null;
+    }
+    
+    static void record(long nanos) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.count++;
+            scope.nanos += nanos;
+        }
+    }
+    
+    static void rowFetched() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.rows++;
+        }
+    }
+    
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private int count;
+        private long nanos;
+        private long rows;
+        
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+        
+        public int count() {
+            return count;
+        }
+        
+        /** Statement çalıştırma çağrılarında geçen toplam süre (sonuç satırlarını okuma hariç). */
+        public long nanos() {
+            return nanos;
+        }
+        
+        public long rows() {
+            return rows;
+        }
+        
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.techmarket.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * /api istekleri için uç nokta başına gecikme histogramı (techmarket.http.requests,
+ * handler ve outcome etiketli) ve o anda işlenen istek sayısı (techmarket.http.requests.active).
+ *
+ * Timer'lar handler metodu başına ilk istekte bir kez kurulur; sonraki isteklerde kayıt
+ * yalnızca harita okuması ve histogram güncellemesidir, istek başına nesne üretilmez.
+ * Spring'in kendi http.server.requests gözlemi bu yüzden kapalıdır (application.properties).
+ * Async cevaplarda süre async işin bitişine kadar ölçülür.
+ *
+ * Uzun ömürlü akışlar (SSE abonelikleri, NDJSON dışa aktarım) exclude-paths ile ölçülmez:
+ * süreleri bağlantının açık kaldığı süredir, uç nokta gecikme dağılımını ve aktif istek
+ * sayısını bozarlar.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    private static final String UNMAPPED = "unmapped";
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${techmarket.metrics.exclude-paths:/api/orders/seller/*/events,/api/orders/export}")
+    private List<String> excludePaths;
+    
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Map<Method, Timers> timers = new ConcurrentHashMap<>();
+    private Timers unmapped;
+    
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("techmarket.http.requests.active", active, AtomicInteger::get)
+                .description("API requests currently being processed")
+                .register(meterRegistry);
+        unmapped = new Timers(UNMAPPED);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (!uri.startsWith("/api/")) {
+            return true;
+        }
+        for (String path : excludePaths) {
+            if (matcher.match(path, uri)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        active.incrementAndGet();
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                async = true;
+                request.getAsyncContext().addListener(new AsyncCompletion(request, response, started));
+            }
+        } finally {
+            if (!async) {
+                complete(request, response.getStatus(), started);
+            }
+        }
+    }
+    
+    private void complete(HttpServletRequest request, int status, long started) {
+        active.decrementAndGet();
+        Timers forHandler = unmapped;
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod method) {
+            // get önce: computeIfAbsent'in lambda'sı yalnızca ilk istekte üretilir
+            forHandler = timers.get(method.getMethod());
+            if (forHandler == null) {
+                forHandler = timers.computeIfAbsent(method.getMethod(), k -> new Timers(name(method)));
+            }
+        }
+        forHandler.forStatus(status).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+    
+    private static String name(HandlerMethod method) {
+        return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+    }
+    
+    private final class Timers {
+        final Timer success;
+        final Timer clientError;
+        final Timer serverError;
+        
+        Timers(String handler) {
+            success = timer(handler, "SUCCESS");
+            clientError = timer(handler, "CLIENT_ERROR");
+            serverError = timer(handler, "SERVER_ERROR");
+        }
+        
+        Timer forStatus(int status) {
+            return status >= 500 ? serverError : status >= 400 ? clientError : success;
+        }
+        
+        private Timer timer(String handler, String outcome) {
+            return Timer.builder("techmarket.http.requests")
+                    .description("API request latency by controller method")
+                    .tag("handler", handler)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry);
+        }
+    }
+    
+    private final class AsyncCompletion implements AsyncListener {
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long started;
+        
+        AsyncCompletion(HttpServletRequest request, HttpServletResponse response, long started) {
+            this.request = request;
+            this.response = response;
+            this.started = started;
+        }
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            complete(request, response.getStatus(), started);
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.techmarket.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * İş sayaçları. Sayaçlar açılışta bir kez kaydedilir; istek yolundaki çağrılar
+ * yalnızca hazır sayacı artırır, etiket ya da nesne üretmez.
+ */
+@Component
+public class ShopMetrics {
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private Counter ordersCreated;
+    private Counter orderLines;
+    private Counter ordersRejectedStock;
+    private Counter ordersRejectedInvalid;
+    private Counter cartAdds;
+    private Counter cartAddsRejected;
+    
+    @PostConstruct
+    void register() {
+        ordersCreated = Counter.builder("techmarket.orders.created")
+                .description("Orders placed successfully")
+                .register(meterRegistry);
+        orderLines = Counter.builder("techmarket.orders.created.lines")
+                .description("Product lines in successfully placed orders")
+                .register(meterRegistry);
+        ordersRejectedStock = rejected("stock");
+        ordersRejectedInvalid = rejected("invalid");
+        cartAdds = Counter.builder("techmarket.cart.adds")
+                .description("Products added to carts")
+                .register(meterRegistry);
+        cartAddsRejected = Counter.builder("techmarket.cart.adds.rejected")
+                .description("Add-to-cart requests with an unknown user or product")
+                .register(meterRegistry);
+    }
+    
+    private Counter rejected(String reason) {
+        return Counter.builder("techmarket.orders.rejected")
+                .description("Orders rejected before being placed")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+    
+    public void orderCreated(int lines) {
+        ordersCreated.increment();
+        orderLines.increment(lines);
+    }
+    
+    public void orderRejectedForStock() {
+        ordersRejectedStock.increment();
+    }
+    
+    public void orderRejectedAsInvalid() {
+        ordersRejectedInvalid.increment();
+    }
+    
+    public void cartAdded() {
+        cartAdds.increment();
+    }
+    
+    public void cartAdded(int products) {
+        cartAdds.increment(products);
+    }
+    
+    public void cartAddRejected() {
+        cartAddsRejected.increment();
+    }
+}
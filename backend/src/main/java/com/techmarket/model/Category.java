@@ -7,7 +7,9 @@ import java.time.LocalDateTime;
 @Table(name = "category")
 public class Category {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "category_id")
+    @TableGenerator(name = "category_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "category", allocationSize = 50)
     private Long categoryId;
     
     @Column(unique = true, nullable = false)
@@ -0,0 +1,45 @@
+package com.techmarket.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Flash-sale ürünleri için bellekte ayrılmış ancak product.stock'a henüz yazılmamış
+ * stok düşümleri. Siparişle aynı transaction'da yazılır, geri yazımda silinir.
+ */
+@Entity
+@Table(name = "inventory_journal")
+public class InventoryJournal {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long journalId;
+    
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+    
+    @Column(nullable = false)
+    private Integer quantity;
+    
+    @Column(updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+    
+    public InventoryJournal() {}
+    
+    public InventoryJournal(Long productId, Integer quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+    
+    // Getters and Setters
+    public Long getJournalId() { return journalId; }
+    public void setJournalId(Long journalId) { this.journalId = journalId; }
+    
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+    
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
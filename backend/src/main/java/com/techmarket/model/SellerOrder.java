@@ -0,0 +1,59 @@
+package com.techmarket.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Satıcı paneli için denormalize sipariş indeksi: bir siparişte ürünü bulunan her
+ * satıcı için bir satır. Siparişle aynı transaction'da yazılır ve sonra değişmez; satıcı listesi
+ * (seller_id, order_date, order_id) aralığından okunur, durum gibi değişen alanlar siparişten gelir.
+ */
+@Entity
+@Table(name = "seller_order",
+        uniqueConstraints = @UniqueConstraint(name = "unique_seller_order", columnNames = {"seller_id", "order_id"}),
+        indexes = @Index(name = "idx_seller_order_range", columnList = "seller_id, order_date, order_id"))
+public class SellerOrder {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "seller_order_id")
+    @TableGenerator(name = "seller_order_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "seller_order", allocationSize = 50)
+    private Long sellerOrderId;
+    
+    @Column(name = "seller_id", nullable = false)
+    private Long sellerId;
+    
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+    
+    @Column(name = "order_date", nullable = false)
+    private LocalDateTime orderDate;
+    
+    @Column(nullable = false)
+    private BigDecimal sellerSubtotal;
+    
+    public SellerOrder() {}
+    
+    public SellerOrder(Long sellerId, Order order, BigDecimal sellerSubtotal) {
+        this.sellerId = sellerId;
+        this.orderId = order.getOrderId();
+        this.orderDate = order.getOrderDate();
+        this.sellerSubtotal = sellerSubtotal;
+    }
+    
+    // Getters and Setters
+    public Long getSellerOrderId() { return sellerOrderId; }
+    public void setSellerOrderId(Long sellerOrderId) { this.sellerOrderId = sellerOrderId; }
+    
+    public Long getSellerId() { return sellerId; }
+    public void setSellerId(Long sellerId) { this.sellerId = sellerId; }
+    
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+    
+    public LocalDateTime getOrderDate() { return orderDate; }
+    public void setOrderDate(LocalDateTime orderDate) { this.orderDate = orderDate; }
+    
+    public BigDecimal getSellerSubtotal() { return sellerSubtotal; }
+    public void setSellerSubtotal(BigDecimal sellerSubtotal) { this.sellerSubtotal = sellerSubtotal; }
+}
@@ -0,0 +1,58 @@
+package com.techmarket.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Outbox'a yazma ucu. Olay, çağıranın transaction'ında tek bir INSERT ile eklenir; transaction
+ * geri alınırsa olay da yok olur. Commit'ten sonra relay uyandırılır, böylece olaylar yoklama
+ * aralığını beklemeden işlenir.
+ *
+ * Yalnızca bir OutboxHandler'ı olan olay tipleri yazılabilir; tüketicisi olmayan olaylar
+ * tabloda birikip yeniden denenmesin diye enqueue bunları reddeder.
+ */
+@Component
+public class Outbox {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private OutboxRelay relay;
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String eventType, Long aggregateId, Object payload) {
+        if (!relay.handles(eventType)) {
+            throw new IllegalStateException("No OutboxHandler registered for " + eventType);
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO outbox_event (event_type, aggregate_id, payload, created_at, available_at, attempts) "
+                + "VALUES (?, ?, ?, ?, ?, 0)", eventType, aggregateId, serialize(payload), now, now);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                relay.wakeUp();
+            }
+        });
+    }
+    
+    private String serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.techmarket.outbox;
+
+/**
+ * Outbox olaylarının tüketicisi. Spring bean'i olarak tanımlanan her handler OutboxRelay'e
+ * kendiliğinden kaydolur.
+ *
+ * Teslimat en az bir kezdir ve olaylar arasında sıra garantisi yoktur: handler idempotent
+ * olmalıdır. Aynı tipte birden fazla handler varsa biri hata verdiğinde olay tümüyle yeniden
+ * denenir.
+ */
+public interface OutboxHandler {
+    
+    /** İşlenen olay tipi, ör. "ORDER_PLACED" */
+    String eventType();
+    
+    /** İstisna fırlatırsa olay artan aralıklarla yeniden denenir. */
+    void handle(OutboxMessage message) throws Exception;
+}
@@ -0,0 +1,37 @@
+package com.techmarket.outbox;
+
+import java.time.LocalDateTime;
+
+/** Handler'a verilen, alınmış (claim edilmiş) outbox satırı. */
+public class OutboxMessage {
+    private final Long id;
+    private final String eventType;
+    private final Long aggregateId;
+    private final String payload;
+    private final int attempt;
+    private final LocalDateTime createdAt;
+    
+    public OutboxMessage(Long id, String eventType, Long aggregateId, String payload, int attempt,
+                         LocalDateTime createdAt) {
+        this.id = id;
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.attempt = attempt;
+        this.createdAt = createdAt;
+    }
+    
+    public Long getId() { return id; }
+    
+    public String getEventType() { return eventType; }
+    
+    public Long getAggregateId() { return aggregateId; }
+    
+    /** JSON gövde */
+    public String getPayload() { return payload; }
+    
+    /** 1'den başlar */
+    public int getAttempt() { return attempt; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,261 @@
+package com.techmarket.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outbox satırlarını yerel bir worker havuzuyla handler'lara dağıtır.
+ *
+ * Her worker kısa bir transaction'da bir batch'i FOR UPDATE SKIP LOCKED ile alır ve satırların
+ * available_at'ini kira süresi kadar ileri iterek bırakır; böylece aynı düğümdeki ya da başka
+ * düğümlerdeki worker'lar birbirini beklemeden farklı satırlar alır, handler'lar da satır kilidi
+ * tutmadan çalışır. Başarılı satırlar processed_at ile işaretlenir; hata verenler üssel artan
+ * aralıkla yeniden denenir, max-attempts'e ulaşanlar bırakılır (last_error ile tabloda kalır).
+ * Worker çökerse kira dolunca satır yeniden alınır.
+ *
+ * Boşta worker'lar poll-interval kadar bekler; Outbox.enqueue commit'ten sonra onları uyandırır.
+ */
+@Component
+public class OutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final int PURGE_CHUNK = 1000;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired(required = false)
+    private List<OutboxHandler> handlerBeans = Collections.emptyList();
+    
+    @Value("${techmarket.outbox.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${techmarket.outbox.workers:2}")
+    private int workerCount;
+    
+    @Value("${techmarket.outbox.batch-size:50}")
+    private int batchSize;
+    
+    @Value("${techmarket.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMillis;
+    
+    @Value("${techmarket.outbox.lease-ms:30000}")
+    private long leaseMillis;
+    
+    @Value("${techmarket.outbox.max-attempts:10}")
+    private int maxAttempts;
+    
+    @Value("${techmarket.outbox.retry-base-ms:1000}")
+    private long retryBaseMillis;
+    
+    @Value("${techmarket.outbox.retry-max-ms:300000}")
+    private long retryMaxMillis;
+    
+    @Value("${techmarket.outbox.retention-hours:168}")
+    private long retentionHours;
+    
+    private final Map<String, List<OutboxHandler>> handlers = new HashMap<>();
+    private final Semaphore wake = new Semaphore(0);
+    private volatile boolean running;
+    private ExecutorService workers;
+    private Counter succeeded;
+    private Counter retried;
+    private Counter abandoned;
+    private Timer lag;
+    
+    @PostConstruct
+    void init() {
+        for (OutboxHandler handler : handlerBeans) {
+            handlers.computeIfAbsent(handler.eventType(), k -> new ArrayList<>()).add(handler);
+        }
+        succeeded = meterRegistry.counter("techmarket.outbox.events", "result", "success");
+        retried = meterRegistry.counter("techmarket.outbox.events", "result", "retry");
+        abandoned = meterRegistry.counter("techmarket.outbox.events", "result", "abandoned");
+        lag = Timer.builder("techmarket.outbox.lag")
+                .description("Time from enqueue to successful dispatch")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofMinutes(5))
+                .register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || workerCount <= 0) {
+            return;
+        }
+        if (handlers.isEmpty()) {
+            logger.info("Outbox relay idle: no OutboxHandler registered");
+            return;
+        }
+        AtomicInteger threads = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, task -> {
+            Thread thread = new Thread(task, "outbox-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::work);
+        }
+        logger.info("Outbox relay started: {} workers, handlers for {}", workerCount, handlers.keySet());
+    }
+    
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+    
+    /** Bu olay tipini işleyen en az bir handler kayıtlı mı. */
+    public boolean handles(String eventType) {
+        return handlers.containsKey(eventType);
+    }
+    
+    /** Yeni olay commit edildi; boşta bekleyen bir worker'ı uyandırır. */
+    public void wakeUp() {
+        if (running && wake.availablePermits() < workerCount) {
+            wake.release();
+        }
+    }
+    
+    private void work() {
+        while (running) {
+            int claimed;
+            try {
+                claimed = relayBatch();
+            } catch (RuntimeException ex) {
+                logger.error("Outbox relay batch failed", ex);
+                claimed = 0;
+            }
+            // dolu batch geldiyse kuyrukta daha fazlası olabilir; beklemeden devam
+            if (claimed < batchSize) {
+                try {
+                    wake.tryAcquire(pollIntervalMillis, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+    
+    /** Bir batch alır ve dağıtır; alınan satır sayısını döner. */
+    int relayBatch() {
+        List<OutboxMessage> messages = claim();
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> processed = new ArrayList<>(messages.size());
+        List<Object[]> failed = new ArrayList<>();
+        for (OutboxMessage message : messages) {
+            try {
+                for (OutboxHandler handler : handlers.getOrDefault(message.getEventType(), Collections.emptyList())) {
+                    handler.handle(message);
+                }
+                processed.add(new Object[] {Timestamp.valueOf(LocalDateTime.now()), message.getId()});
+                succeeded.increment();
+                lag.record(Duration.between(message.getCreatedAt(), LocalDateTime.now()));
+            } catch (Exception ex) {
+                failed.add(new Object[] {Timestamp.valueOf(now.plus(backoff(message.getAttempt()))),
+                        truncate(ex.toString()), message.getId()});
+                if (message.getAttempt() >= maxAttempts) {
+                    abandoned.increment();
+                    logger.error("Outbox event {} ({}) abandoned after {} attempts",
+                            message.getId(), message.getEventType(), message.getAttempt(), ex);
+                } else {
+                    retried.increment();
+                    logger.warn("Outbox event {} ({}) failed on attempt {}: {}",
+                            message.getId(), message.getEventType(), message.getAttempt(), ex.toString());
+                }
+            }
+        }
+        if (!processed.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE outbox_event SET processed_at = ? WHERE id = ?", processed);
+        }
+        if (!failed.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE outbox_event SET available_at = ?, last_error = ? WHERE id = ?", failed);
+        }
+        return messages.size();
+    }
+    
+    // Kilitler yalnızca bu kısa transaction boyunca tutulur; kira, satırı diğer worker'lardan saklar
+    private List<OutboxMessage> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMessage> messages = jdbcTemplate.query(
+                    "SELECT id, event_type, aggregate_id, payload, attempts, created_at FROM outbox_event "
+                            + "WHERE processed_at IS NULL AND available_at <= ? AND attempts < ? "
+                            + "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+                    (rs, i) -> new OutboxMessage(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getString(4),
+                            rs.getInt(5) + 1, rs.getTimestamp(6).toLocalDateTime()),
+                    Timestamp.valueOf(now), maxAttempts, batchSize);
+            if (!messages.isEmpty()) {
+                Timestamp leaseUntil = Timestamp.valueOf(now.plusNanos(TimeUnit.MILLISECONDS.toNanos(leaseMillis)));
+                List<Object[]> rows = new ArrayList<>(messages.size());
+                for (OutboxMessage message : messages) {
+                    rows.add(new Object[] {leaseUntil, message.getId()});
+                }
+                jdbcTemplate.batchUpdate(
+                        "UPDATE outbox_event SET available_at = ?, attempts = attempts + 1 WHERE id = ?", rows);
+            }
+            return messages;
+        });
+    }
+    
+    // İşlenmiş satırlar saklama süresi sonunda parça parça silinir; bırakılanlar incelenmek üzere kalır
+    @Scheduled(fixedDelayString = "${techmarket.outbox.purge-interval-ms:3600000}")
+    public void purgeProcessed() {
+        if (!enabled) {
+            return;
+        }
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusHours(retentionHours));
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(
+                    "DELETE FROM outbox_event WHERE processed_at < ? LIMIT " + PURGE_CHUNK, cutoff);
+        } while (deleted == PURGE_CHUNK);
+    }
+    
+    private Duration backoff(int attempt) {
+        long millis = retryBaseMillis << Math.min(attempt - 1, 20);
+        return Duration.ofMillis(Math.min(millis, retryMaxMillis));
+    }
+    
+    private static String truncate(String error) {
+        return error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+}
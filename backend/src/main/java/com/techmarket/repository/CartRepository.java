@@ -2,10 +2,14 @@ package com.techmarket.repository;
 
 import com.techmarket.model.Cart;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
 public interface CartRepository extends JpaRepository<Cart, Long> {
     Optional<Cart> findByUser_UserId(Long userId);
+    
+    @Query("SELECT c.cartId FROM Cart c WHERE c.user.userId = :userId")
+    Optional<Long> findCartIdByUserId(Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.techmarket.repository;
+
+import com.techmarket.model.InventoryJournal;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface InventoryJournalRepository extends JpaRepository<InventoryJournal, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM InventoryJournal j WHERE j.productId = :productId")
+    List<InventoryJournal> findPendingForUpdate(@Param("productId") Long productId);
+    
+    @Query("SELECT DISTINCT j.productId FROM InventoryJournal j")
+    List<Long> findPendingProductIds();
+    
+    void deleteByProductId(Long productId);
+}
@@ -1,9 +1,22 @@
 package com.techmarket.repository;
 
+import com.techmarket.dto.OrderLineView;
 import com.techmarket.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
-}
\ No newline at end of file
+    // [productId, toplam satılan adet]
+    @Query("SELECT oi.product.productId, SUM(oi.quantity) FROM OrderItem oi GROUP BY oi.product.productId")
+    List<Object[]> sumQuantityByProduct();
+    
+    @Query("SELECT new com.techmarket.dto.OrderLineView(oi.orderItemId, oi.order.orderId, p.productId, p.name, " +
+           "p.imageUrl, p.seller.userId, oi.quantity, oi.priceAtPurchase, oi.subtotal) " +
+           "FROM OrderItem oi JOIN oi.product p WHERE oi.order.orderId IN :orderIds ORDER BY oi.orderItemId")
+    List<OrderLineView> findLineViewsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+}
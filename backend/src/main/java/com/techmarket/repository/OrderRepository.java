@@ -1,17 +1,48 @@
 package com.techmarket.repository;
 
+import com.techmarket.dto.OrderView;
 import com.techmarket.model.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUser_UserId(Long userId);
     List<Order> findByUser_UserIdOrderByOrderDateDesc(Long userId);
+    Optional<Order> findByUser_UserIdAndIdempotencyKey(Long userId, String idempotencyKey);
     
-    @Query("SELECT DISTINCT o FROM Order o JOIN o.items oi JOIN oi.product p WHERE p.seller.userId = :sellerId ORDER BY o.orderDate DESC")
-    List<Order> findOrdersBySellerId(@Param("sellerId") Long sellerId);
-}
\ No newline at end of file
+    // Liste ekranları için projection'lar; kalemler OrderItemRepository.findLineViewsByOrderIds ile eklenir
+    @Query("SELECT new com.techmarket.dto.OrderView(o.orderId, u.userId, u.firstName, u.lastName, " +
+           "o.totalAmount, o.status, o.shippingAddress, o.orderDate, o.updatedAt) " +
+           "FROM Order o JOIN o.user u ORDER BY o.orderId")
+    List<OrderView> findAllViews();
+    
+    @Query("SELECT new com.techmarket.dto.OrderView(o.orderId, u.userId, u.firstName, u.lastName, " +
+           "o.totalAmount, o.status, o.shippingAddress, o.orderDate, o.updatedAt) " +
+           "FROM Order o JOIN o.user u WHERE u.userId = :userId ORDER BY o.orderDate DESC")
+    List<OrderView> findViewsByUserId(@Param("userId") Long userId);
+    
+    // Satıcı listesi seller_order indeksinden okunur: (seller_id, order_date, order_id) aralığı,
+    // sipariş başlıkları birincil anahtarla eklenir. Sıralama (orderDate, orderId) azalan.
+    @Query("SELECT new com.techmarket.dto.OrderView(o.orderId, u.userId, u.firstName, u.lastName, " +
+           "o.totalAmount, o.status, o.shippingAddress, o.orderDate, o.updatedAt, s.sellerSubtotal) " +
+           "FROM SellerOrder s, Order o JOIN o.user u WHERE o.orderId = s.orderId AND s.sellerId = :sellerId " +
+           "ORDER BY s.orderDate DESC, s.orderId DESC")
+    List<OrderView> findSellerViews(@Param("sellerId") Long sellerId, Limit limit);
+    
+    @Query("SELECT new com.techmarket.dto.OrderView(o.orderId, u.userId, u.firstName, u.lastName, " +
+           "o.totalAmount, o.status, o.shippingAddress, o.orderDate, o.updatedAt, s.sellerSubtotal) " +
+           "FROM SellerOrder s, Order o JOIN o.user u WHERE o.orderId = s.orderId AND s.sellerId = :sellerId " +
+           "AND (s.orderDate < :beforeDate OR (s.orderDate = :beforeDate AND s.orderId < :beforeId)) " +
+           "ORDER BY s.orderDate DESC, s.orderId DESC")
+    List<OrderView> findSellerViewsBefore(@Param("sellerId") Long sellerId,
+                                          @Param("beforeDate") LocalDateTime beforeDate,
+                                          @Param("beforeId") Long beforeId,
+                                          Limit limit);
+}
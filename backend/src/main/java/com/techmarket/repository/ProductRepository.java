@@ -1,9 +1,17 @@
 package com.techmarket.repository;
 
 import com.techmarket.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,8 +20,32 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findByCategory_CategoryId(Long categoryId);
     List<Product> findByIsActiveTrue();
     
+    // Katalog snapshot'ı için: satıcı ve kategori aynı sorguda, sonuçlar salt okunur
+    @EntityGraph(attributePaths = {"seller", "category"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Product> findByIsActiveTrueOrderByProductIdAsc();
+    
+    // Keyset (cursor) sayfalama: OFFSET yerine primary key üzerinden seek
+    List<Product> findByIsActiveTrueAndProductIdGreaterThanOrderByProductIdAsc(Long afterId, Limit limit);
+    List<Product> findByCategory_CategoryIdAndProductIdGreaterThanOrderByProductIdAsc(Long categoryId, Long afterId, Limit limit);
+    List<Product> findBySeller_UserIdAndProductIdGreaterThanOrderByProductIdAsc(Long sellerId, Long afterId, Limit limit);
+    
     @Query("SELECT p FROM Product p WHERE p.isActive = true AND " +
            "(LOWER(p.name) LIKE LOWER(CONCAT('%', ?1, '%')) OR " +
            "LOWER(p.description) LIKE LOWER(CONCAT('%', ?1, '%')))")
     List<Product> searchProducts(String keyword);
-}
\ No newline at end of file
+    
+    // Sipariş hattı için: satıcı ve kategori tek join'de, salt okunur (stok kirli sayılıp flush edilmez)
+    @EntityGraph(attributePaths = {"seller", "category"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Product> findByProductIdIn(Collection<Long> productIds);
+    
+    // Sepet toplu güncellemesi için yalnızca varlık kontrolü; entity yüklenmez
+    @Query("SELECT p.productId FROM Product p WHERE p.isActive = true AND p.productId IN :productIds")
+    List<Long> findActiveProductIds(Collection<Long> productIds);
+    
+    // Önceden ayrılmış (flash-sale) stoğun geri yazımı; kontrol bellekte yapıldı
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity WHERE p.productId = :productId")
+    int subtractStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+}
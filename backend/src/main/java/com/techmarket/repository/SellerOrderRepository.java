@@ -0,0 +1,14 @@
+package com.techmarket.repository;
+
+import com.techmarket.model.SellerOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface SellerOrderRepository extends JpaRepository<SellerOrder, Long> {
+    @Query("SELECT s.sellerId FROM SellerOrder s WHERE s.orderId = :orderId")
+    List<Long> findSellerIdsByOrderId(@Param("orderId") Long orderId);
+}
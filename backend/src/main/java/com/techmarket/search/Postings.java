@@ -0,0 +1,105 @@
+package com.techmarket.search;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Bir terimin geçtiği ürünler; productId'ye göre sıralı tutulur ki
+ * çok terimli sorgular iki sıralı dizinin kesişimi olarak hesaplanabilsin.
+ */
+final class Postings {
+    private long[] ids;
+    private int[] weights;
+    private int size;
+    
+    Postings() {
+        this(4);
+    }
+    
+    Postings(int capacity) {
+        ids = new long[Math.max(capacity, 1)];
+        weights = new int[ids.length];
+    }
+    
+    int size() { return size; }
+    
+    long idAt(int i) { return ids[i]; }
+    
+    int weightAt(int i) { return weights[i]; }
+    
+    void put(long id, int weight) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            weights[pos] = weight;
+            return;
+        }
+        int insertAt = -pos - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            weights = Arrays.copyOf(weights, size * 2);
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        System.arraycopy(weights, insertAt, weights, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        weights[insertAt] = weight;
+        size++;
+    }
+    
+    boolean remove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) {
+            return false;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        System.arraycopy(weights, pos + 1, weights, pos, size - pos - 1);
+        size--;
+        return true;
+    }
+    
+    /**
+     * Ağırlıkları toplayarak k yollu birleşim; önek genişletmesinde kullanılır. Listelerin
+     * başları id'ye göre bir yığında tutulur, maliyet O(toplam uzunluk * log k). Sonuç en fazla
+     * maxIds farklı id içerir (indeksteki ürün sayısı), kapasite buna göre ayrılır.
+     */
+    static Postings union(List<Postings> lists, int maxIds) {
+        if (lists.size() == 1) {
+            return lists.get(0);
+        }
+        long total = 0;
+        for (Postings p : lists) {
+            total += p.size;
+        }
+        Postings out = new Postings((int) Math.min(total, maxIds));
+        int[] cursor = new int[lists.size()];
+        PriorityQueue<Integer> heads = new PriorityQueue<>(lists.size(),
+                Comparator.comparingLong(k -> lists.get(k).ids[cursor[k]]));
+        for (int k = 0; k < lists.size(); k++) {
+            if (lists.get(k).size > 0) {
+                heads.add(k);
+            }
+        }
+        while (!heads.isEmpty()) {
+            int k = heads.poll();
+            Postings p = lists.get(k);
+            long id = p.ids[cursor[k]];
+            int weight = p.weights[cursor[k]++];
+            if (out.size > 0 && out.ids[out.size - 1] == id) {
+                out.weights[out.size - 1] += weight;
+            } else {
+                out.append(id, weight);
+            }
+            if (cursor[k] < p.size) {
+                heads.add(k);
+            }
+        }
+        return out;
+    }
+    
+    private void append(long id, int weight) {
+        ids[size] = id;
+        weights[size] = weight;
+        size++;
+    }
+}
@@ -0,0 +1,213 @@
+package com.techmarket.search;
+
+import com.techmarket.model.Product;
+import com.techmarket.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Aktif ürünlerin adı ve açıklaması üzerinde bellek içi ters indeks.
+ * Sorgu maliyeti tablo boyutuna değil, sorgudaki terimlerin postings listelerine bağlıdır.
+ * Son sorgu terimi önek olarak genişletilir, böylece yazarken arama da çalışır.
+ */
+@Component
+public class ProductSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+    private static final int NAME_WEIGHT = 3;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    // Güncelleme ve silmede eski terimleri bulabilmek için ileri indeks
+    private final Map<Long, String[]> docTerms = new HashMap<>();
+    private volatile boolean ready;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            docTerms.clear();
+            List<Product> products = productRepository.findByIsActiveTrue();
+            for (Product product : products) {
+                add(product);
+            }
+            ready = true;
+            logger.info("Search index built: {} products, {} terms", docTerms.size(), terms.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    /** Ürün oluşturma/güncellemede çağrılır; pasif ürünler indeksten çıkarılır. */
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(product.getProductId());
+            if (Boolean.TRUE.equals(product.getIsActive())) {
+                add(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Tüm terimleri içeren (AND) ürünlerin id'lerini alaka sırasıyla döner.
+     * Skor: her terim için (ad eşleşmesi * 3 + açıklama eşleşmesi) * idf.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = TurkishText.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int docCount = docTerms.size();
+            List<Postings> groups = new ArrayList<>(tokens.size());
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean last = i == tokens.size() - 1;
+                Postings p = last ? prefixPostings(tokens.get(i)) : terms.get(tokens.get(i));
+                if (p == null || p.size() == 0) {
+                    return List.of();
+                }
+                groups.add(p);
+            }
+            groups.sort(Comparator.comparingInt(Postings::size));
+            
+            // En kısa listeden başlayıp diğerleriyle kesiştir
+            Postings first = groups.get(0);
+            int n = first.size();
+            long[] ids = new long[n];
+            double[] scores = new double[n];
+            double idf = idf(docCount, n);
+            for (int i = 0; i < n; i++) {
+                ids[i] = first.idAt(i);
+                scores[i] = first.weightAt(i) * idf;
+            }
+            for (int g = 1; g < groups.size() && n > 0; g++) {
+                Postings other = groups.get(g);
+                double otherIdf = idf(docCount, other.size());
+                int kept = 0;
+                int j = 0;
+                for (int i = 0; i < n; i++) {
+                    j = seek(other, j, ids[i]);
+                    if (j < other.size() && other.idAt(j) == ids[i]) {
+                        ids[kept] = ids[i];
+                        scores[kept] = scores[i] + other.weightAt(j) * otherIdf;
+                        kept++;
+                    }
+                }
+                n = kept;
+            }
+            return topK(ids, scores, n, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Önekle başlayan terimlerin hepsi tek bir k yollu birleşimle genişletilir; terim sınırı yoktur,
+    // sonuç indeksteki ürün sayısıyla sınırlıdır
+    private Postings prefixPostings(String prefix) {
+        Collection<Postings> range = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        if (range.isEmpty()) {
+            return null;
+        }
+        return Postings.union(new ArrayList<>(range), docTerms.size());
+    }
+    
+    // Sıralı listede ilerleyen arama: önce üstel adım, sonra ikili arama
+    private static int seek(Postings p, int from, long target) {
+        int bound = 1;
+        while (from + bound < p.size() && p.idAt(from + bound) < target) {
+            bound <<= 1;
+        }
+        int lo = from, hi = Math.min(from + bound, p.size() - 1);
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (p.idAt(mid) < target) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+    
+    private static double idf(int docCount, int df) {
+        return Math.log(1.0 + (double) docCount / df);
+    }
+    
+    private static List<Long> topK(long[] ids, double[] scores, int n, int limit) {
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int c = Double.compare(scores[b], scores[a]);
+            return c != 0 ? c : Long.compare(ids[a], ids[b]);
+        });
+        int k = Math.min(n, limit);
+        List<Long> result = new ArrayList<>(k);
+        for (int i = 0; i < k; i++) {
+            result.add(ids[order[i]]);
+        }
+        return result;
+    }
+    
+    private void add(Product product) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String token : TurkishText.tokenize(product.getName())) {
+            weights.merge(token, NAME_WEIGHT, Integer::sum);
+        }
+        for (String token : TurkishText.tokenize(product.getDescription())) {
+            weights.merge(token, 1, Integer::sum);
+        }
+        long id = product.getProductId();
+        for (Map.Entry<String, Integer> e : weights.entrySet()) {
+            terms.computeIfAbsent(e.getKey(), k -> new Postings()).put(id, e.getValue());
+        }
+        docTerms.put(id, weights.keySet().toArray(new String[0]));
+    }
+    
+    private void removeInternal(Long productId) {
+        String[] old = docTerms.remove(productId);
+        if (old == null) {
+            return;
+        }
+        for (String term : old) {
+            Postings p = terms.get(term);
+            if (p != null && p.remove(productId) && p.size() == 0) {
+                terms.remove(term);
+            }
+        }
+    }
+}
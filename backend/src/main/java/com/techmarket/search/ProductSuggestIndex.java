@@ -0,0 +1,319 @@
+package com.techmarket.search;
+
+import com.techmarket.model.Product;
+import com.techmarket.repository.OrderItemRepository;
+import com.techmarket.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ürün adları için önek tamamlama indeksi.
+ *
+ * Her ürün adı, kelime başlangıçlarından itibaren anahtarlara bölünür ("iphone 15 pro",
+ * "15 pro", "pro") ve sıralı bir dizide tutulur. Bir önek bu dizide ardışık bir aralığa
+ * karşılık gelir; aralıktaki en popüler N ürün, popülerlik üzerine kurulu bir segment
+ * ağacından (aralıkta en büyük) öncelik kuyruğuyla çekilir, yani sorgu maliyeti aralığın
+ * büyüklüğüne değil N'e bağlıdır.
+ *
+ * Ürün yazımları diziyi hemen yeniden kurmaz: değişen ürünler küçük bir "dirty" kümesinde
+ * tutulur, sorguda diziden atlanıp doğrudan taranır, küme büyüyünce dizi yeniden kurulur.
+ * Popülerlik OrderItem adetlerinin toplamıdır.
+ */
+@Component
+public class ProductSuggestIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ProductSuggestIndex.class);
+    private static final int REBUILD_THRESHOLD = 256;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Set<Long> dirty = new HashSet<>();
+    private Snapshot snapshot = Snapshot.EMPTY;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Long, Long> sold = new HashMap<>();
+        for (Object[] row : orderItemRepository.sumQuantityByProduct()) {
+            sold.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            for (Product product : productRepository.findByIsActiveTrue()) {
+                entries.put(product.getProductId(),
+                        new Entry(product.getProductId(), product.getName(), sold.getOrDefault(product.getProductId(), 0L)));
+            }
+            rebuildSnapshot();
+            logger.info("Suggest index built: {} products, {} keys", entries.size(), snapshot.keys.length);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            Long id = product.getProductId();
+            Entry old = entries.remove(id);
+            if (Boolean.TRUE.equals(product.getIsActive())) {
+                entries.put(id, new Entry(id, product.getName(), old == null ? 0L : old.popularity));
+            }
+            markDirty(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            if (entries.remove(productId) != null) {
+                markDirty(productId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /** Sipariş sonrası popülerliği artırır; dizideki sıralamayı bozmadan segment ağacını günceller. */
+    public void recordSale(Long productId, int quantity) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(productId);
+            if (entry == null) {
+                return;
+            }
+            entry.popularity += quantity;
+            if (!dirty.contains(productId)) {
+                snapshot.updatePopularity(productId, entry.popularity);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = String.join(" ", TurkishText.tokenize(prefix));
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Entry> fromSnapshot = snapshot.top(key, limit, dirty);
+            
+            // Son yazılan ürünler dizide yok (ya da eski halleriyle var), doğrudan tara
+            List<Entry> candidates = new ArrayList<>(fromSnapshot);
+            for (Long id : dirty) {
+                Entry entry = entries.get(id);
+                if (entry != null && entry.matches(key)) {
+                    candidates.add(entry);
+                }
+            }
+            candidates.sort((a, b) -> a.popularity != b.popularity
+                    ? Long.compare(b.popularity, a.popularity)
+                    : Long.compare(a.productId, b.productId));
+            
+            List<Suggestion> result = new ArrayList<>(Math.min(limit, candidates.size()));
+            for (int i = 0; i < candidates.size() && result.size() < limit; i++) {
+                Entry e = candidates.get(i);
+                result.add(new Suggestion(e.productId, e.name, e.popularity));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void markDirty(Long productId) {
+        dirty.add(productId);
+        if (dirty.size() >= REBUILD_THRESHOLD) {
+            rebuildSnapshot();
+        }
+    }
+    
+    // Çağıran write lock'u tutmalı
+    private void rebuildSnapshot() {
+        snapshot = Snapshot.build(entries.values());
+        dirty.clear();
+    }
+    
+    private static final class Entry {
+        final long productId;
+        final String name;
+        final String[] keys;
+        long popularity;
+        
+        Entry(long productId, String name, long popularity) {
+            this.productId = productId;
+            this.name = name;
+            this.popularity = popularity;
+            List<String> tokens = TurkishText.tokenize(name);
+            keys = new String[tokens.size()];
+            for (int i = 0; i < tokens.size(); i++) {
+                keys[i] = String.join(" ", tokens.subList(i, tokens.size()));
+            }
+        }
+        
+        boolean matches(String prefix) {
+            for (String key : keys) {
+                if (key.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+    
+    private static final class Snapshot {
+        static final Snapshot EMPTY = build(List.of());
+        
+        final String[] keys;
+        final Entry[] owners;
+        final long[] popularity;
+        final int[] tree;
+        final int leaves;
+        final Map<Long, int[]> positions;
+        
+        private Snapshot(String[] keys, Entry[] owners) {
+            this.keys = keys;
+            this.owners = owners;
+            this.popularity = new long[keys.length];
+            int size = 1;
+            while (size < Math.max(keys.length, 1)) {
+                size <<= 1;
+            }
+            this.leaves = size;
+            this.tree = new int[2 * size];
+            Arrays.fill(tree, -1);
+            Map<Long, List<Integer>> byProduct = new HashMap<>();
+            for (int i = 0; i < keys.length; i++) {
+                popularity[i] = owners[i].popularity;
+                tree[size + i] = i;
+                byProduct.computeIfAbsent(owners[i].productId, k -> new ArrayList<>()).add(i);
+            }
+            for (int node = size - 1; node >= 1; node--) {
+                tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+            }
+            this.positions = new HashMap<>();
+            byProduct.forEach((id, list) -> positions.put(id, list.stream().mapToInt(Integer::intValue).toArray()));
+        }
+        
+        static Snapshot build(Iterable<Entry> entries) {
+            List<Object[]> pairs = new ArrayList<>();
+            for (Entry entry : entries) {
+                for (String key : entry.keys) {
+                    pairs.add(new Object[] {key, entry});
+                }
+            }
+            pairs.sort((a, b) -> ((String) a[0]).compareTo((String) b[0]));
+            String[] keys = new String[pairs.size()];
+            Entry[] owners = new Entry[pairs.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = (String) pairs.get(i)[0];
+                owners[i] = (Entry) pairs.get(i)[1];
+            }
+            return new Snapshot(keys, owners);
+        }
+        
+        void updatePopularity(Long productId, long value) {
+            int[] pos = positions.get(productId);
+            if (pos == null) {
+                return;
+            }
+            for (int p : pos) {
+                popularity[p] = value;
+                for (int node = (leaves + p) >> 1; node >= 1; node >>= 1) {
+                    tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+                }
+            }
+        }
+        
+        List<Entry> top(String prefix, int limit, Set<Long> skip) {
+            int lo = lowerBound(prefix);
+            int hi = lowerBound(prefix + Character.MAX_VALUE);
+            List<Entry> result = new ArrayList<>(limit);
+            if (lo >= hi) {
+                return result;
+            }
+            // Kuyrukta [l, r] aralıkları, aralığın en popüler pozisyonuna göre sıralı
+            PriorityQueue<int[]> queue = new PriorityQueue<>((a, b) -> compare(b[2], a[2]));
+            queue.add(new int[] {lo, hi - 1, argMax(lo, hi - 1)});
+            Set<Long> seen = new HashSet<>();
+            while (!queue.isEmpty() && result.size() < limit) {
+                int[] range = queue.poll();
+                int best = range[2];
+                Entry owner = owners[best];
+                if (!skip.contains(owner.productId) && seen.add(owner.productId)) {
+                    result.add(owner);
+                }
+                if (range[0] <= best - 1) {
+                    queue.add(new int[] {range[0], best - 1, argMax(range[0], best - 1)});
+                }
+                if (best + 1 <= range[1]) {
+                    queue.add(new int[] {best + 1, range[1], argMax(best + 1, range[1])});
+                }
+            }
+            return result;
+        }
+        
+        private int argMax(int l, int r) {
+            int best = -1;
+            for (l += leaves, r += leaves + 1; l < r; l >>= 1, r >>= 1) {
+                if ((l & 1) == 1) {
+                    best = better(best, tree[l++]);
+                }
+                if ((r & 1) == 1) {
+                    best = better(best, tree[--r]);
+                }
+            }
+            return best;
+        }
+        
+        private int better(int a, int b) {
+            if (a < 0) {
+                return b;
+            }
+            if (b < 0) {
+                return a;
+            }
+            return compare(a, b) >= 0 ? a : b;
+        }
+        
+        // Popülerlik eşitse sözlük sırasında önce gelen kazanır
+        private int compare(int a, int b) {
+            int c = Long.compare(popularity[a], popularity[b]);
+            return c != 0 ? c : Integer.compare(b, a);
+        }
+        
+        private int lowerBound(String key) {
+            int lo = 0, hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.techmarket.search;
+
+public class Suggestion {
+    private final Long productId;
+    private final String name;
+    private final long popularity;
+    
+    public Suggestion(Long productId, String name, long popularity) {
+        this.productId = productId;
+        this.name = name;
+        this.popularity = popularity;
+    }
+    
+    public Long getProductId() { return productId; }
+    
+    public String getName() { return name; }
+    
+    public long getPopularity() { return popularity; }
+}
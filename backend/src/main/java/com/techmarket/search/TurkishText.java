@@ -0,0 +1,63 @@
+package com.techmarket.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Arama ve öneri indeksleri için ortak metin normalizasyonu.
+ * Önce Türkçe kurallarıyla küçültür (I -> ı, İ -> i), sonra Türkçe karakterleri
+ * ASCII karşılığına katlar; böylece "KULAKLIK", "kulaklık" ve "kulaklik" aynı terime düşer.
+ */
+public final class TurkishText {
+    private static final Locale TR = Locale.forLanguageTag("tr-TR");
+    
+    private TurkishText() {}
+    
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String lower = text.toLowerCase(TR);
+        StringBuilder sb = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            sb.append(fold(lower.charAt(i)));
+        }
+        return sb.toString();
+    }
+    
+    public static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(normalized.substring(start));
+        }
+        return tokens;
+    }
+    
+    private static char fold(char c) {
+        switch (c) {
+            case 'ı': return 'i';
+            case 'ş': return 's';
+            case 'ğ': return 'g';
+            case 'ü': return 'u';
+            case 'ö': return 'o';
+            case 'ç': return 'c';
+            case 'â': return 'a';
+            case 'î': return 'i';
+            case 'û': return 'u';
+            default: return c;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.techmarket.service;
+
+import com.techmarket.dto.CartView;
+import com.techmarket.model.Cart;
+import com.techmarket.model.CartItem;
+import com.techmarket.repository.CartRepository;
+import com.techmarket.repository.ProductRepository;
+import com.techmarket.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sepete toplu ekle/ayarla/çıkar. İşlem sayısından bağımsız, sabit sayıda round trip:
+ * ürün varlık kontrolü, sepet id'si, sepetin updated_at'i, (cart_id, product_id) anahtarı
+ * üzerinde ekleme ve ayarlama için birer INSERT ... ON DUPLICATE KEY UPDATE batch'i,
+ * çıkarmalar için tek DELETE ve sonuç listesi. updated_at kalemlerden önce yazılır: sepet
+ * satırı kilitlenir, aynı sepete gelen batch'ler sıralanır ve kilitler hep aynı sırayla alınır.
+ *
+ * Aynı ürün için art arda gelen işlemler önce tek bir değişikliğe indirgenir
+ * (ör. çıkar + ekle 2 = ayarla 2). Ekleme, satırın o anki adedine eklenir; eşzamanlı
+ * iki ekleme birbirini ezmez.
+ */
+@Service
+public class CartMutationService {
+    public static final int MAX_OPERATIONS = 500;
+    
+    private static final String UPSERT_ADD =
+            "INSERT INTO cart_item (cart_item_id, cart_id, product_id, quantity, added_at) VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity)";
+    private static final String UPSERT_SET =
+            "INSERT INTO cart_item (cart_item_id, cart_id, product_id, quantity, added_at) VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE quantity = VALUES(quantity)";
+    // Eşzamanlı iki istek de sepeti bulamayabilir; ikinci ekleme unique_user_cart'a çarpıp etkisiz kalır
+    private static final String INSERT_CART =
+            "INSERT INTO cart (cart_id, user_id, created_at, updated_at) VALUES (?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE cart_id = cart_id";
+    
+    @Autowired
+    private CartRepository cartRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * Doğrulama hataları IllegalArgumentException olarak fırlatılır; hiçbir işlem uygulanmaz.
+     * Kullanıcının sepeti yoksa oluşturulur.
+     */
+    @Transactional
+    public CartView apply(Long userId, List<Operation> operations) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User id is required");
+        }
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("At least one operation is required");
+        }
+        if (operations.size() > MAX_OPERATIONS) {
+            throw new IllegalArgumentException("At most " + MAX_OPERATIONS + " operations are allowed");
+        }
+        Map<Long, Change> changes = collapse(operations);
+        checkProducts(changes);
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Long cartId = cartRepository.findCartIdByUserId(userId).orElseGet(() -> createCart(session, userId, now));
+        jdbcTemplate.update("UPDATE cart SET updated_at = ? WHERE cart_id = ?", now, cartId);
+        
+        List<Object[]> adds = new ArrayList<>();
+        List<Object[]> sets = new ArrayList<>();
+        List<Object> removes = new ArrayList<>();
+        removes.add(cartId);
+        IdentifierGenerator ids = generator(session, CartItem.class);
+        for (Map.Entry<Long, Change> entry : changes.entrySet()) {
+            Change change = entry.getValue();
+            if (change.type == Type.REMOVE) {
+                removes.add(entry.getKey());
+                continue;
+            }
+            // id yalnızca satır yeniyse kullanılır; pooled generator'dan geldiği için ucuz
+            Object[] row = {ids.generate(session, null), cartId, entry.getKey(), change.quantity, now};
+            (change.type == Type.ADD ? adds : sets).add(row);
+        }
+        if (!adds.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_ADD, adds);
+        }
+        if (!sets.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SET, sets);
+        }
+        if (removes.size() > 1) {
+            jdbcTemplate.update("DELETE FROM cart_item WHERE cart_id = ? AND product_id IN ("
+                    + String.join(", ", Collections.nCopies(removes.size() - 1, "?")) + ")", removes.toArray());
+        }
+        
+        CartView view = new CartView(cartId, userId);
+        jdbcTemplate.query("SELECT product_id, quantity FROM cart_item WHERE cart_id = ? ORDER BY product_id",
+                rs -> { view.getItems().add(new CartView.Line(rs.getLong(1), rs.getInt(2))); }, cartId);
+        return view;
+    }
+    
+    // Aynı ürünün işlemleri sırayla tek değişikliğe indirgenir
+    private Map<Long, Change> collapse(List<Operation> operations) {
+        Map<Long, Change> changes = new LinkedHashMap<>();
+        for (Operation op : operations) {
+            if (op == null || op.getType() == null || op.getProductId() == null) {
+                throw new IllegalArgumentException("Invalid cart operation");
+            }
+            Change previous = changes.get(op.getProductId());
+            Change next;
+            switch (op.getType()) {
+                case REMOVE -> next = new Change(Type.REMOVE, 0);
+                case SET -> {
+                    if (op.getQuantity() == null || op.getQuantity() < 0) {
+                        throw new IllegalArgumentException("Invalid quantity for product: " + op.getProductId());
+                    }
+                    next = op.getQuantity() == 0 ? new Change(Type.REMOVE, 0) : new Change(Type.SET, op.getQuantity());
+                }
+                default -> {
+                    if (op.getQuantity() == null || op.getQuantity() <= 0) {
+                        throw new IllegalArgumentException("Invalid quantity for product: " + op.getProductId());
+                    }
+                    if (previous == null) {
+                        next = new Change(Type.ADD, op.getQuantity());
+                    } else if (previous.type == Type.REMOVE) {
+                        next = new Change(Type.SET, op.getQuantity());
+                    } else if (previous.quantity > Integer.MAX_VALUE - op.getQuantity()) {
+                        throw new IllegalArgumentException("Invalid quantity for product: " + op.getProductId());
+                    } else {
+                        next = new Change(previous.type, previous.quantity + op.getQuantity());
+                    }
+                }
+            }
+            changes.put(op.getProductId(), next);
+        }
+        return changes;
+    }
+    
+    // Çıkarılan ürünlerin aktif olması gerekmez; silinmiş bir ürün sepetten yine çıkarılabilir
+    private void checkProducts(Map<Long, Change> changes) {
+        Set<Long> wanted = new HashSet<>();
+        changes.forEach((productId, change) -> {
+            if (change.type != Type.REMOVE) {
+                wanted.add(productId);
+            }
+        });
+        if (wanted.isEmpty()) {
+            return;
+        }
+        Set<Long> found = new HashSet<>(productRepository.findActiveProductIds(wanted));
+        for (Long productId : wanted) {
+            if (!found.contains(productId)) {
+                throw new IllegalArgumentException("Product not found: " + productId);
+            }
+        }
+    }
+    
+    /**
+     * Sepet satırı kalemlerden önce JDBC ile eklenir. Yarışı kaybeden istek eklemeyi atlar ve
+     * kazananın sepetine yazar; id kilitli okumayla alınır, böylece transaction'ın anlık
+     * görüntüsünde olmayan, az önce commit edilmiş satır da görülür.
+     */
+    private Long createCart(SharedSessionContractImplementor session, Long userId, Timestamp now) {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found");
+        }
+        jdbcTemplate.update(INSERT_CART, generator(session, Cart.class).generate(session, null), userId, now, now);
+        return jdbcTemplate.queryForObject("SELECT cart_id FROM cart WHERE user_id = ? FOR UPDATE", Long.class, userId);
+    }
+    
+    private static IdentifierGenerator generator(SharedSessionContractImplementor session, Class<?> entity) {
+        return (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(entity).getGenerator();
+    }
+    
+    public enum Type {
+        ADD, SET, REMOVE
+    }
+    
+    private static final class Change {
+        final Type type;
+        final int quantity;
+        
+        Change(Type type, int quantity) {
+            this.type = type;
+            this.quantity = quantity;
+        }
+    }
+    
+    public static class Operation {
+        private final Type type;
+        private final Long productId;
+        private final Integer quantity;
+        
+        public Operation(Type type, Long productId, Integer quantity) {
+            this.type = type;
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+        
+        public Type getType() { return type; }
+        
+        public Long getProductId() { return productId; }
+        
+        public Integer getQuantity() { return quantity; }
+    }
+}
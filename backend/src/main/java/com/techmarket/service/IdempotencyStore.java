@@ -0,0 +1,205 @@
+package com.techmarket.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key başlıklı yazma istekleri için süreç içi sonuç deposu.
+ *
+ * Anahtarı ilk alan istek işi yürütür; aynı anahtarla eşzamanlı gelenler onun future'ını
+ * bekler, stok satırları için yarışmaz. Tamamlanan cevap (durum + gövde baytları) TTL
+ * boyunca saklanır ve tekrarlara hemen döndürülür. Depo kayıt sayısıyla sınırlıdır (en
+ * eski tamamlanan önce çıkar); düğümler arası ve TTL sonrası tekrarlar veritabanındaki
+ * unique key ile yakalanır. 5xx cevaplar ve istisnalar saklanmaz, tekrar yeniden yürütür.
+ */
+@Component
+public class IdempotencyStore {
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${techmarket.idempotency.max-entries:10000}")
+    private int maxEntries;
+    
+    @Value("${techmarket.idempotency.ttl-ms:600000}")
+    private long ttlMillis;
+    
+    @Value("${techmarket.idempotency.wait-ms:30000}")
+    private long waitMillis;
+    
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // yalnızca tamamlanmış kayıtlar, tamamlanma sırasıyla; TTL herkes için aynı olduğundan süresi dolanlar baştadır
+    private final Queue<Entry> completionOrder = new ConcurrentLinkedQueue<>();
+    
+    private Counter executed;
+    private Counter replayed;
+    private Counter mismatched;
+    
+    @PostConstruct
+    void registerMetrics() {
+        executed = meterRegistry.counter("techmarket.idempotency.requests", "result", "executed");
+        replayed = meterRegistry.counter("techmarket.idempotency.requests", "result", "replayed");
+        mismatched = meterRegistry.counter("techmarket.idempotency.requests", "result", "mismatch");
+        Gauge.builder("techmarket.idempotency.entries", entries, Map::size).register(meterRegistry);
+    }
+    
+    /**
+     * @param key         kapsamı çağıran belirler (ör. kullanıcı + başlık değeri)
+     * @param fingerprint isteğin özeti; aynı anahtar farklı istekle gelirse 422 döner
+     */
+    public Result execute(String key, String fingerprint, Supplier<Result> action) {
+        evict();
+        while (true) {
+            Entry mine = new Entry(key, fingerprint);
+            Entry existing = entries.putIfAbsent(key, mine);
+            if (existing == null) {
+                return run(mine, action);
+            }
+            if (existing.isExpired(System.currentTimeMillis())) {
+                if (entries.replace(key, existing, mine)) {
+                    return run(mine, action);
+                }
+                continue;
+            }
+            if (!existing.fingerprint.equals(fingerprint)) {
+                mismatched.increment();
+                return Result.text(422, "Idempotency-Key was already used with a different request");
+            }
+            Result stored = await(existing);
+            if (stored != null) {
+                replayed.increment();
+                return stored.replay();
+            }
+            // ilk yürütme başarısız oldu ve kayıt silindi; anahtarı yeniden almayı dene
+            if (entries.get(key) == existing) {
+                return Result.text(409, "A request with this Idempotency-Key is still in progress");
+            }
+        }
+    }
+    
+    private Result run(Entry mine, Supplier<Result> action) {
+        executed.increment();
+        Result result;
+        try {
+            result = action.get();
+        } catch (RuntimeException ex) {
+            entries.remove(mine.key, mine);
+            mine.result.completeExceptionally(ex);
+            throw ex;
+        }
+        if (result.getStatus() >= 500) {
+            entries.remove(mine.key, mine);
+        } else {
+            mine.expiresAt = System.currentTimeMillis() + ttlMillis;
+            completionOrder.add(mine);
+        }
+        mine.result.complete(result);
+        return result;
+    }
+    
+    // null: ilk yürütme istisnayla bitti ya da bekleme süresi doldu
+    private Result await(Entry entry) {
+        try {
+            Result result = entry.result.get(waitMillis, TimeUnit.MILLISECONDS);
+            return result.getStatus() >= 500 ? null : result;
+        } catch (ExecutionException | TimeoutException ex) {
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Result.text(409, "A request with this Idempotency-Key is still in progress");
+        }
+    }
+    
+    /** İstek alanlarının SHA-256 özeti; kayıtta tam gövde yerine bu tutulur. */
+    public static String fingerprint(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+    
+    // Yürütülmekte olan kayıtlar kuyrukta değildir, sınır yalnızca tamamlanmışları çıkarır
+    private void evict() {
+        long now = System.currentTimeMillis();
+        Entry head;
+        while ((head = completionOrder.peek()) != null
+                && (entries.size() > maxEntries || head.isExpired(now) || entries.get(head.key) != head)) {
+            completionOrder.remove(head);
+            entries.remove(head.key, head);
+        }
+    }
+    
+    public static final class Result {
+        private final int status;
+        private final byte[] body;
+        private final boolean json;
+        private final boolean replayed;
+        
+        private Result(int status, byte[] body, boolean json, boolean replayed) {
+            this.status = status;
+            this.body = body;
+            this.json = json;
+            this.replayed = replayed;
+        }
+        
+        public static Result json(int status, byte[] body) {
+            return new Result(status, body, true, false);
+        }
+        
+        public static Result text(int status, String body) {
+            return new Result(status, body.getBytes(StandardCharsets.UTF_8), false, false);
+        }
+        
+        Result replay() {
+            return new Result(status, body, json, true);
+        }
+        
+        public int getStatus() { return status; }
+        
+        public byte[] getBody() { return body; }
+        
+        public boolean isJson() { return json; }
+        
+        public boolean isReplayed() { return replayed; }
+    }
+    
+    private static final class Entry {
+        final String key;
+        final String fingerprint;
+        final CompletableFuture<Result> result = new CompletableFuture<>();
+        // yürütme sürerken süresiz; tamamlanınca TTL başlar
+        volatile long expiresAt = Long.MAX_VALUE;
+        
+        Entry(String key, String fingerprint) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+        }
+        
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+}
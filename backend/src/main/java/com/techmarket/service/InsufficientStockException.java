@@ -0,0 +1,10 @@
+package com.techmarket.service;
+
+/** Sipariş satırı için yeterli stok yok; diğer doğrulama hataları gibi 400 döner. */
+public class InsufficientStockException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+    
+    public InsufficientStockException(Long productId) {
+        super("Insufficient stock for product: " + productId);
+    }
+}
@@ -0,0 +1,121 @@
+package com.techmarket.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techmarket.dto.OrderLineView;
+import com.techmarket.dto.OrderView;
+import com.techmarket.model.OrderStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Siparişleri NDJSON (satır başına bir JSON nesnesi) olarak akıtır.
+ *
+ * Sipariş başlıkları ve kalemleri tek bir ileri yönlü sorgudan, orderId sırasıyla okunur;
+ * bir siparişin son kalemi gelince sipariş yazılır ve bırakılır. Bellekte en fazla bir
+ * sipariş tutulur; toplam sipariş sayısı bellek kullanımını etkilemez.
+ *
+ * Akış yalnızca bu sorgu için açılır: MySQL Connector/J satırları ancak fetch size
+ * Integer.MIN_VALUE iken tek tek getirir (bağlantı URL'sinde useCursorFetch gerekmez).
+ * Sonuç kümesi açıkken aynı bağlantıda başka statement çalıştırılamadığından kalemler
+ * ayrı bir sorguyla değil, aynı sorguda join ile okunur.
+ */
+@Service
+public class OrderExportService {
+    private static final int FETCH_SIZE = 500;
+    private static final String EXPORT_QUERY =
+            "SELECT o.orderId, u.userId, u.firstName, u.lastName, o.totalAmount, o.status, " +
+            "o.shippingAddress, o.orderDate, o.updatedAt, " +
+            "oi.orderItemId, p.productId, p.name, p.imageUrl, p.seller.userId, " +
+            "oi.quantity, oi.priceAtPurchase, oi.subtotal " +
+            "FROM OrderItem oi JOIN oi.order o JOIN o.user u JOIN oi.product p " +
+            "WHERE o.orderDate >= :from AND o.orderDate < :to ORDER BY o.orderId, oi.orderItemId";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /** [from, to) aralığındaki siparişleri orderId sırasıyla yazar; çıktı akışını kapatmaz. */
+    @Transactional(readOnly = true)
+    public long export(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // kök değerler arasına Jackson'ın varsayılan boşluğu yerine satır sonu
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        Writer writer = new Writer(generator);
+        try (Stream<Object[]> rows = entityManager.createQuery(EXPORT_QUERY, Object[].class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, isMySql() ? Integer.MIN_VALUE : FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            rows.forEach(writer::row);
+            writer.finish();
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        if (writer.written > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+        return writer.written;
+    }
+    
+    private boolean isMySql() {
+        return entityManager.unwrap(SessionImplementor.class).getJdbcServices().getDialect() instanceof MySQLDialect;
+    }
+    
+    // Ardışık satırları siparişlere toplar; orderId değişince önceki siparişi yazar
+    private static final class Writer {
+        private final JsonGenerator generator;
+        private OrderView current;
+        private long written;
+        
+        Writer(JsonGenerator generator) {
+            this.generator = generator;
+        }
+        
+        void row(Object[] row) {
+            Long orderId = (Long) row[0];
+            if (current == null || !current.getOrderId().equals(orderId)) {
+                finish();
+                current = new OrderView(orderId, (Long) row[1], (String) row[2], (String) row[3],
+                        (BigDecimal) row[4], (OrderStatus) row[5], (String) row[6],
+                        (LocalDateTime) row[7], (LocalDateTime) row[8]);
+            }
+            current.getItems().add(new OrderLineView((Long) row[9], orderId, (Long) row[10], (String) row[11],
+                    (String) row[12], (Long) row[13], (Integer) row[14], (BigDecimal) row[15], (BigDecimal) row[16]));
+        }
+        
+        void finish() {
+            if (current == null) {
+                return;
+            }
+            try {
+                generator.writeObject(current);
+                // her FETCH_SIZE siparişte bir istemciye gönderilir
+                if (++written % FETCH_SIZE == 0) {
+                    generator.flush();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            current = null;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.techmarket.service;
+
+import com.techmarket.inventory.FlashSaleInventory;
+import com.techmarket.model.*;
+import com.techmarket.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sipariş oluşturma hattı. Satır sayısından bağımsız, sabit sayıda round trip:
+ * ürünleri tek sorguda yükle, doğrula, stoğu tek batch UPDATE ile ayır,
+ * siparişi, kalemlerini ve seller_order indeks satırlarını Hibernate JDBC batch'i ile yaz.
+ */
+@Service
+public class OrderPlacementService {
+    private static final Logger logger = LoggerFactory.getLogger(OrderPlacementService.class);
+    private static final BigDecimal MINIMUM_ORDER_AMOUNT = new BigDecimal("50");
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private SellerOrderRepository sellerOrderRepository;
+    
+    @Autowired
+    private FlashSaleInventory flashSaleInventory;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Doğrulama hataları IllegalArgumentException olarak fırlatılır; transaction
+     * geri alınır, bellekte ayrılan flash-sale stoğu iade edilir.
+     *
+     * @param lines istek sırasıyla (productId, adet) satırları
+     * @param idempotencyKey null olabilir; aynı kullanıcı için ikinci kez yazılırsa commit unique key ile düşer
+     */
+    @Transactional
+    public Order placeOrder(Long userId, BigDecimal clientTotal, String shippingAddress, List<Line> lines,
+                            String idempotencyKey) {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("Order must contain at least one item");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        if (clientTotal == null) {
+            throw new IllegalArgumentException("Total amount is required");
+        }
+        if (clientTotal.compareTo(MINIMUM_ORDER_AMOUNT) < 0) {
+            throw new IllegalArgumentException("Minimum sipariş tutarı 50 TL olmalıdır");
+        }
+        
+        Map<Long, Integer> quantities = aggregate(lines);
+        Map<Long, Product> products = loadProducts(quantities);
+        reserveStock(quantities);
+        Order saved = writeOrder(user, shippingAddress, quantities, products, idempotencyKey);
+        
+        // client total is informational; the computed total is authoritative
+        if (saved.getTotalAmount().compareTo(clientTotal) != 0) {
+            logger.warn("Computed total {} does not match client total {}", saved.getTotalAmount(), clientTotal);
+        }
+        return saved;
+    }
+    
+    /**
+     * Kullanıcının kayıtlı sepetini tek transaction'da siparişe çevirir. Sepet satırı
+     * FOR UPDATE ile kilitlenir; aynı sepet için eşzamanlı ikinci checkout ilki bitene
+     * kadar bekler ve boş sepet görür. Round trip sayısı satır sayısından bağımsızdır:
+     * kilit, satırların tek SELECT'i, ürün yüklemesi, stok batch'i, sipariş batch'i ve
+     * sepeti boşaltan tek DELETE.
+     *
+     * @param shippingAddress boşsa kullanıcının kayıtlı adresi kullanılır
+     */
+    @Transactional
+    public Order placeOrderFromCart(Long userId, String shippingAddress, String idempotencyKey) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        String address = shippingAddress == null || shippingAddress.isBlank() ? user.getAddress() : shippingAddress;
+        if (address == null || address.isBlank()) {
+            throw new IllegalArgumentException("Shipping address is required");
+        }
+        List<Long> cartIds = jdbcTemplate.queryForList(
+                "SELECT cart_id FROM cart WHERE user_id = ? FOR UPDATE", Long.class, userId);
+        if (cartIds.isEmpty()) {
+            throw new IllegalArgumentException("Cart is empty");
+        }
+        Long cartId = cartIds.get(0);
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT product_id, quantity FROM cart_item WHERE cart_id = ? ORDER BY product_id",
+                rs -> { quantities.merge(rs.getLong(1), rs.getInt(2), Integer::sum); }, cartId);
+        if (quantities.isEmpty()) {
+            throw new IllegalArgumentException("Cart is empty");
+        }
+        
+        Map<Long, Product> products = loadProducts(quantities);
+        // tutar sunucuda hesaplanır; minimum kontrolü stok ayrılmadan önce yapılır
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            total = total.add(lineSubtotal(products.get(line.getKey()).getPrice(), line.getValue()));
+        }
+        if (total.compareTo(MINIMUM_ORDER_AMOUNT) < 0) {
+            throw new IllegalArgumentException("Minimum sipariş tutarı 50 TL olmalıdır");
+        }
+        reserveStock(quantities);
+        Order saved = writeOrder(user, address, quantities, products, idempotencyKey);
+        
+        jdbcTemplate.update("DELETE FROM cart_item WHERE cart_id = ?", cartId);
+        jdbcTemplate.update("UPDATE cart SET updated_at = ? WHERE cart_id = ?", Timestamp.valueOf(LocalDateTime.now()), cartId);
+        return saved;
+    }
+    
+    // Stok ayrıldıktan sonra sipariş, kalemleri ve seller_order satırları kurulur
+    private Order writeOrder(User user, String shippingAddress, Map<Long, Integer> quantities,
+                             Map<Long, Product> products, String idempotencyKey) {
+        Order order = new Order();
+        order.setIdempotencyKey(idempotencyKey);
+        order.setUser(user);
+        order.setShippingAddress(shippingAddress);
+        order.setStatus(OrderStatus.BEKLEMEDE);
+        
+        List<OrderItem> items = new ArrayList<>(quantities.size());
+        Map<Long, BigDecimal> sellerSubtotals = new LinkedHashMap<>();
+        BigDecimal computedTotal = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Product product = products.get(line.getKey());
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(line.getValue());
+            item.setPriceAtPurchase(product.getPrice());
+            item.setSubtotal(lineSubtotal(product.getPrice(), line.getValue()));
+            items.add(item);
+            computedTotal = computedTotal.add(item.getSubtotal());
+            sellerSubtotals.merge(product.getSeller().getUserId(), item.getSubtotal(), BigDecimal::add);
+            // ürünler salt okunur yüklendi; bu değişiklik yalnızca cevaba yansır, flush edilmez
+            product.setStock(product.getStock() - line.getValue());
+        }
+        order.setTotalAmount(computedTotal);
+        
+        // id'ler pooled generator'dan geldiği için sipariş ve kalemleri tek JDBC batch'inde yazılır
+        order.setItems(items);
+        Order saved = orderRepository.save(order);
+        
+        // satıcı paneli indeksi; aynı flush'ta tek batch INSERT olarak yazılır
+        List<SellerOrder> index = new ArrayList<>(sellerSubtotals.size());
+        sellerSubtotals.forEach((sellerId, subtotal) -> index.add(new SellerOrder(sellerId, saved, subtotal)));
+        sellerOrderRepository.saveAll(index);
+        return saved;
+    }
+    
+    public static BigDecimal lineSubtotal(BigDecimal price, int quantity) {
+        return price.multiply(BigDecimal.valueOf(quantity));
+    }
+    
+    // Aynı ürün için birden fazla satır tek satıra toplanır
+    private Map<Long, Integer> aggregate(List<Line> lines) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (Line line : lines) {
+            if (line == null || line.getProductId() == null
+                    || line.getQuantity() == null || line.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Invalid order item");
+            }
+            quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+    
+    private Map<Long, Product> loadProducts(Map<Long, Integer> quantities) {
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findByProductIdIn(quantities.keySet())) {
+            products.put(product.getProductId(), product);
+        }
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Product product = products.get(line.getKey());
+            if (product == null) {
+                throw new IllegalArgumentException("Product not found: " + line.getKey());
+            }
+            if (product.getStock() < line.getValue()) {
+                throw new InsufficientStockException(line.getKey());
+            }
+        }
+        return products;
+    }
+    
+    private void reserveStock(Map<Long, Integer> quantities) {
+        Map<Long, Integer> inMemory = new LinkedHashMap<>();
+        List<Object[]> conditional = new ArrayList<>();
+        List<Long> conditionalIds = new ArrayList<>();
+        // satır kilitleri her siparişte product_id sırasıyla alınır; ters sırada çakışan
+        // iki sipariş birbirini beklerken kilitlenmez (flash-sale okuma kilitleri için de geçerli)
+        for (Map.Entry<Long, Integer> line : new TreeMap<>(quantities).entrySet()) {
+            Long productId = line.getKey();
+            int quantity = line.getValue();
+            if (flashSaleInventory.isManaged(productId)) {
+                if (!flashSaleInventory.tryReserve(productId, quantity)) {
+                    throw new InsufficientStockException(productId);
+                }
+                inMemory.put(productId, quantity);
+            } else {
+                conditional.add(new Object[] {quantity, productId, quantity});
+                conditionalIds.add(productId);
+            }
+        }
+        flashSaleInventory.journal(inMemory);
+        if (conditional.isEmpty()) {
+            return;
+        }
+        // her satır koşullu UPDATE; etkilenen satır sayısı 0 ise stok başka bir siparişe gitti
+        int[] updated = jdbcTemplate.batchUpdate(
+                "UPDATE product SET stock = stock - ? WHERE product_id = ? AND stock >= ?", conditional);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                throw new InsufficientStockException(conditionalIds.get(i));
+            }
+        }
+    }
+    
+    public static class Line {
+        private final Long productId;
+        private final Integer quantity;
+        
+        public Line(Long productId, Integer quantity) {
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+        
+        public Long getProductId() { return productId; }
+        
+        public Integer getQuantity() { return quantity; }
+    }
+}
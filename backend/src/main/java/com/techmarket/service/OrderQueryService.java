@@ -0,0 +1,65 @@
+package com.techmarket.service;
+
+import com.techmarket.dto.OrderLineView;
+import com.techmarket.dto.OrderView;
+import com.techmarket.repository.OrderItemRepository;
+import com.techmarket.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sipariş listeleri için okuma tarafı: bir sorgu sipariş özetleri, bir sorgu
+ * (her 1000 sipariş için) kalemler. Sorgu sayısı sipariş veya kalem sayısıyla büyümez.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OrderQueryService {
+    private static final int IN_CLAUSE_CHUNK = 1000;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    
+    public List<OrderView> findAll() {
+        return withLines(orderRepository.findAllViews());
+    }
+    
+    public List<OrderView> findByUser(Long userId) {
+        return withLines(orderRepository.findViewsByUserId(userId));
+    }
+    
+    /** before null ise en yeni siparişten başlar; aksi halde (beforeDate, beforeId)'den eskileri döner. */
+    public List<OrderView> findBySeller(Long sellerId, LocalDateTime beforeDate, Long beforeId, Limit limit) {
+        if (beforeDate == null) {
+            return withLines(orderRepository.findSellerViews(sellerId, limit));
+        }
+        return withLines(orderRepository.findSellerViewsBefore(sellerId, beforeDate, beforeId, limit));
+    }
+    
+    public List<OrderView> withLines(List<OrderView> orders) {
+        if (orders.isEmpty()) {
+            return orders;
+        }
+        Map<Long, OrderView> byId = new HashMap<>();
+        for (OrderView order : orders) {
+            byId.put(order.getOrderId(), order);
+        }
+        List<Long> ids = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK, ids.size()));
+            for (OrderLineView line : orderItemRepository.findLineViewsByOrderIds(chunk)) {
+                byId.get(line.getOrderId()).getItems().add(line);
+            }
+        }
+        return orders;
+    }
+}
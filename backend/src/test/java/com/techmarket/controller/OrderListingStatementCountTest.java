@@ -0,0 +1,119 @@
+package com.techmarket.controller;
+
+import com.techmarket.jdbc.SqlStatementCounter;
+import com.techmarket.model.Category;
+import com.techmarket.model.Product;
+import com.techmarket.model.User;
+import com.techmarket.repository.CategoryRepository;
+import com.techmarket.repository.ProductRepository;
+import com.techmarket.repository.UserRepository;
+import com.techmarket.service.OrderPlacementService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sipariş listeleme uçlarının statement sayısı sipariş ve satır sayısından bağımsız olmalıdır:
+ * her uç iki DTO projeksiyon sorgusuyla (siparişler + kalemleri) döner.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderListingStatementCountTest {
+    private static final int ORDERS_PER_BUYER = 3;
+    private static final int LISTING_STATEMENTS = 2;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private OrderPlacementService orderPlacementService;
+    
+    @Test
+    void listingStatementCountDoesNotGrowWithOrderLines() throws Exception {
+        Category category = new Category();
+        category.setName("Statement Count");
+        category = categoryRepository.save(category);
+        
+        int totalOrders = 0;
+        for (int lines : new int[] {1, 5, 20}) {
+            User seller = user("seller-" + lines);
+            User buyer = user("buyer-" + lines);
+            List<Product> products = new ArrayList<>();
+            for (int i = 0; i < lines; i++) {
+                products.add(product(seller, category, "P" + lines + "-" + i));
+            }
+            for (int order = 0; order < ORDERS_PER_BUYER; order++) {
+                List<OrderPlacementService.Line> orderLines = new ArrayList<>();
+                for (Product product : products) {
+                    orderLines.add(new OrderPlacementService.Line(product.getProductId(), 1));
+                }
+                orderPlacementService.placeOrder(buyer.getUserId(), new BigDecimal(100 * lines), "Adres",
+                        orderLines, null);
+            }
+            totalOrders += ORDERS_PER_BUYER;
+            
+            assertThat(statements("/api/orders/user/" + buyer.getUserId(), ORDERS_PER_BUYER, lines))
+                    .as("/api/orders/user with %d lines per order", lines)
+                    .isEqualTo(LISTING_STATEMENTS);
+            assertThat(statements("/api/orders/seller/" + seller.getUserId(), ORDERS_PER_BUYER, lines))
+                    .as("/api/orders/seller with %d lines per order", lines)
+                    .isEqualTo(LISTING_STATEMENTS);
+            assertThat(statements("/api/orders", totalOrders, -1))
+                    .as("/api/orders with %d orders", totalOrders)
+                    .isEqualTo(LISTING_STATEMENTS);
+        }
+    }
+    
+    // yanıtı doğrular ve istek boyunca çalışan statement sayısını döner; lines < 0 ise kalem sayısı kontrol edilmez
+    private int statements(String path, int orders, int lines) throws Exception {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            var result = mockMvc.perform(get(path))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(orders));
+            if (lines >= 0) {
+                result.andExpect(jsonPath("$[0].items.length()").value(lines));
+            }
+            return scope.count();
+        }
+    }
+    
+    private User user(String name) {
+        User user = new User();
+        user.setEmail(name + "@test.local");
+        user.setPassword("secret");
+        user.setFirstName(name);
+        user.setLastName("Test");
+        return userRepository.save(user);
+    }
+    
+    private Product product(User seller, Category category, String name) {
+        Product product = new Product();
+        product.setSeller(seller);
+        product.setCategory(category);
+        product.setName(name);
+        product.setPrice(new BigDecimal("100.00"));
+        product.setStock(1000);
+        return productRepository.save(product);
+    }
+}
@@ -0,0 +1,209 @@
+package com.techmarket.inventory;
+
+import com.techmarket.model.Category;
+import com.techmarket.model.Product;
+import com.techmarket.model.User;
+import com.techmarket.repository.CategoryRepository;
+import com.techmarket.repository.ProductRepository;
+import com.techmarket.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Flash-sale stok defteri: CAS ile ayrım, geri almada iade, açılışta journal uzlaştırması
+ * ve satıcının stok güncellemesinin açık ayrımlarla sıralanması.
+ * Her test kendi ürününü oluşturur ve onu flash-sale moduna alıp load() çağırır.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class FlashSaleInventoryTest {
+    private static final int THREADS = 8;
+    
+    @Autowired
+    private FlashSaleInventory inventory;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        Long productId = flashSaleProduct(100);
+        AtomicInteger reserved = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 40; i++) {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            if (inventory.tryReserve(productId, 1)) {
+                                inventory.journal(Map.of(productId, 1));
+                                reserved.incrementAndGet();
+                            }
+                        });
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertThat(reserved.get()).isEqualTo(100);
+        assertThat(inventory.tryReserve(productId, 1)).isFalse();
+        inventory.flush();
+        assertThat(stock(productId)).isZero();
+        assertThat(journalRows(productId)).isZero();
+    }
+    
+    @Test
+    void rollbackReturnsReservedQuantity() {
+        Long productId = flashSaleProduct(5);
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(inventory.tryReserve(productId, 5)).isTrue();
+            inventory.journal(Map.of(productId, 5));
+            status.setRollbackOnly();
+        });
+        
+        assertThat(journalRows(productId)).isZero();
+        assertThat(inventory.tryReserve(productId, 5)).isTrue();
+        assertThat(inventory.tryReserve(productId, 1)).isFalse();
+    }
+    
+    @Test
+    void loadAppliesPendingJournalBeforeInitializingCounters() {
+        Long productId = product(10);
+        // önceki çalışmadan geri yazılmadan kalmış düşümler
+        inventory.journal(Map.of(productId, 3));
+        inventory.journal(Map.of(productId, 2));
+        
+        flag(productId);
+        
+        assertThat(stock(productId)).isEqualTo(5);
+        assertThat(journalRows(productId)).isZero();
+        assertThat(inventory.tryReserve(productId, 5)).isTrue();
+        assertThat(inventory.tryReserve(productId, 1)).isFalse();
+    }
+    
+    @Test
+    void resetStockWaitsForOpenReservation() throws Exception {
+        Long productId = flashSaleProduct(10);
+        CountDownLatch reservedLatch = new CountDownLatch(1);
+        CountDownLatch commitLatch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> reservation = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                assertThat(inventory.tryReserve(productId, 4)).isTrue();
+                inventory.journal(Map.of(productId, 4));
+                reservedLatch.countDown();
+                await(commitLatch);
+            }));
+            assertThat(reservedLatch.await(30, TimeUnit.SECONDS)).isTrue();
+            
+            Future<Product> reset = executor.submit(() -> inventory.resetStock(productId, 50, () -> {
+                Product product = productRepository.findById(productId).orElseThrow();
+                product.setStock(50);
+                return productRepository.save(product);
+            }));
+            Thread.sleep(300);
+            assertThat(reset.isDone()).as("resetStock must wait for the open reservation").isFalse();
+            
+            commitLatch.countDown();
+            reservation.get(30, TimeUnit.SECONDS);
+            reset.get(30, TimeUnit.SECONDS);
+        } finally {
+            commitLatch.countDown();
+            executor.shutdownNow();
+        }
+        
+        // yeni değer mutlaktır: commit edilmiş ayrım ona dahil sayılır, journal'da kalmaz
+        assertThat(journalRows(productId)).isZero();
+        inventory.flush();
+        assertThat(stock(productId)).isEqualTo(50);
+        assertThat(inventory.tryReserve(productId, 50)).isTrue();
+        assertThat(inventory.tryReserve(productId, 1)).isFalse();
+    }
+    
+    private Long flashSaleProduct(int stock) {
+        Long productId = product(stock);
+        flag(productId);
+        return productId;
+    }
+    
+    private void flag(Long productId) {
+        ReflectionTestUtils.setField(inventory, "flaggedProductIds", Set.of(productId));
+        inventory.load();
+        assertThat(inventory.isManaged(productId)).isTrue();
+    }
+    
+    private int stock(Long productId) {
+        return productRepository.findById(productId).orElseThrow().getStock();
+    }
+    
+    private int journalRows(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventory_journal WHERE product_id = ?",
+                Integer.class, productId);
+    }
+    
+    private Long product(int stock) {
+        String name = "flash-" + System.nanoTime();
+        User seller = new User();
+        seller.setEmail(name + "@test.local");
+        seller.setPassword("secret");
+        seller.setFirstName("Flash");
+        seller.setLastName("Seller");
+        seller = userRepository.save(seller);
+        Category category = new Category();
+        category.setName(name);
+        category = categoryRepository.save(category);
+        
+        Product product = new Product();
+        product.setSeller(seller);
+        product.setCategory(category);
+        product.setName("Flash " + stock);
+        product.setPrice(new BigDecimal("100.00"));
+        product.setStock(stock);
+        return productRepository.save(product).getProductId();
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}